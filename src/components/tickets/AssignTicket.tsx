@@ -3,11 +3,12 @@ import { X, User } from 'lucide-react';
 import { useForm } from 'react-hook-form';
 import toast from 'react-hot-toast';
 import api, { handleApiResponse } from '../../utils/api';
-import { User as UserType } from '../../types';
+import { DeveloperRosterEntry } from '../../types';
 import LoadingSpinner from '../common/LoadingSpinner';
 
 interface AssignTicketProps {
   ticketId: number;
+  version?: number;
   onClose: () => void;
   onSuccess: () => void;
 }
@@ -16,8 +17,8 @@ interface AssignForm {
   assignedToId: string;
 }
 
-const AssignTicket: React.FC<AssignTicketProps> = ({ ticketId, onClose, onSuccess }) => {
-  const [developers, setDevelopers] = useState<UserType[]>([]);
+const AssignTicket: React.FC<AssignTicketProps> = ({ ticketId, version, onClose, onSuccess }) => {
+  const [developers, setDevelopers] = useState<DeveloperRosterEntry[]>([]);
   const [loading, setLoading] = useState(true);
   const [submitting, setSubmitting] = useState(false);
 
@@ -35,7 +36,7 @@ const AssignTicket: React.FC<AssignTicketProps> = ({ ticketId, onClose, onSucces
     try {
       setLoading(true);
       const response = await api.get('/ticket/getdevelopers?role=DEVELOPER');
-      const developersData = handleApiResponse<UserType[]>(response);
+      const developersData = handleApiResponse<DeveloperRosterEntry[]>(response);
       setDevelopers(Array.isArray(developersData) ? developersData : []);
     } catch (error) {
       console.error('Failed to fetch developers:', error);
@@ -50,13 +51,20 @@ const AssignTicket: React.FC<AssignTicketProps> = ({ ticketId, onClose, onSucces
       setSubmitting(true);
       const response = await api.post(`/ticket/${ticketId}/assign`, {
         assignedToId: parseInt(data.assignedToId),
+        version,
       });
       
       handleApiResponse(response);
       toast.success('Ticket assigned successfully');
       onSuccess();
-    } catch (error) {
-      toast.error('Failed to assign ticket');
+    } catch (error: any) {
+      if (error.response?.status === 409) {
+        // Someone else changed the ticket first; reload it so the manager sees the current state
+        toast.error(error.response.data?.errorCode || 'Ticket was changed by someone else');
+        onSuccess();
+      } else {
+        toast.error('Failed to assign ticket');
+      }
     } finally {
       setSubmitting(false);
     }
@@ -95,7 +103,7 @@ const AssignTicket: React.FC<AssignTicketProps> = ({ ticketId, onClose, onSucces
                   <option value="">Select a developer</option>
                   {developers.map((developer) => (
                     <option key={developer.id} value={developer.id}>
-                      {developer.name} ({developer.email})
+                      {developer.name} ({developer.openTickets} open)
                     </option>
                   ))}
                 </select>
@@ -8,6 +8,7 @@ import api, { handleApiResponse } from '../../utils/api';
 import { SingleTicketResponse } from '../../types';
 import LoadingSpinner from '../common/LoadingSpinner';
 import AssignTicket from './AssignTicket';
+import { STATUS_OPTIONS } from '../../utils/constants';
 
 interface CommentForm {
   comment: string;
@@ -21,6 +22,7 @@ const TicketDetail: React.FC = () => {
   const [loading, setLoading] = useState(true);
   const [commentLoading, setCommentLoading] = useState(false);
   const [showAssignModal, setShowAssignModal] = useState(false);
+  const [statusChanging, setStatusChanging] = useState(false);
 
   const {
     register,
@@ -65,6 +67,23 @@ const TicketDetail: React.FC = () => {
     }
   };
 
+  const onChangeStatus = async (status: string) => {
+    try {
+      setStatusChanging(true);
+      const response = await api.post(`/ticket/${id}/status`, { status, version: ticket?.version });
+      handleApiResponse(response);
+      toast.success('Status updated');
+    } catch (error: any) {
+      toast.error(error.response?.status === 409
+        ? error.response.data?.errorCode || 'Ticket was changed by someone else'
+        : error instanceof Error ? error.message : 'Failed to update status');
+    } finally {
+      setStatusChanging(false);
+      // Reload either way, so a lost race shows the status that won
+      fetchTicketDetail();
+    }
+  };
+
   const getPriorityColor = (priority: string) => {
     switch (priority?.toUpperCase()) {
       case 'URGENT':
@@ -84,7 +103,7 @@ const TicketDetail: React.FC = () => {
     switch (status?.toUpperCase()) {
       case 'OPEN':
         return 'bg-blue-100 text-blue-800 border-blue-200 dark:bg-blue-900/20 dark:text-blue-400 dark:border-blue-800';
-      case 'IN_PROGRESS':
+      case 'INPROGRESS':
         return 'bg-purple-100 text-purple-800 border-purple-200 dark:bg-purple-900/20 dark:text-purple-400 dark:border-purple-800';
       case 'RESOLVED':
         return 'bg-green-100 text-green-800 border-green-200 dark:bg-green-900/20 dark:text-green-400 dark:border-green-800';
@@ -155,6 +174,21 @@ const TicketDetail: React.FC = () => {
               <span className={`inline-flex items-center px-3 py-1 rounded-full text-sm font-medium border ${getStatusColor(ticket.status)}`}>
                 {ticket.status.replace('_', ' ')}
               </span>
+              {(role === 'MANAGER' || role === 'DEVELOPER') && ticket.statusMoves && ticket.statusMoves.length > 0 && (
+                <select
+                  value=""
+                  disabled={statusChanging}
+                  onChange={(e) => e.target.value && onChangeStatus(e.target.value)}
+                  className="input-field w-auto text-sm py-1"
+                >
+                  <option value="">Move to...</option>
+                  {STATUS_OPTIONS.filter((option) => ticket.statusMoves!.includes(option.value)).map((option) => (
+                    <option key={option.value} value={option.value}>
+                      {option.label}
+                    </option>
+                  ))}
+                </select>
+              )}
             </div>
           </div>
         </div>
@@ -217,7 +251,7 @@ const TicketDetail: React.FC = () => {
               <div className="p-6">
                 <h3 className="text-lg font-semibold text-gray-900 dark:text-white mb-4 flex items-center">
                   <MessageSquare className="w-5 h-5 mr-2" />
-                  Comments ({ticket.comments?.length || 0})
+                  Comments ({ticket.commentCount ?? ticket.comments?.length ?? 0})
                 </h3>
 
                 {/* Comments List */}
@@ -359,6 +393,7 @@ const TicketDetail: React.FC = () => {
         {showAssignModal && (
           <AssignTicket
             ticketId={parseInt(id!)}
+            version={ticket?.version}
             onClose={() => setShowAssignModal(false)}
             onSuccess={() => {
               setShowAssignModal(false);
@@ -23,6 +23,13 @@ export interface User {
   createdAt: string;
 }
 
+export interface DeveloperRosterEntry {
+  id: number;
+  name: string;
+  role: Role;
+  openTickets: number;
+}
+
 export interface Organization {
   id: number;
   orgName: string;
@@ -61,6 +68,11 @@ export interface SingleTicketResponse {
   dueDate?: string;
   photoPath?: string[];
   comments?: string[];
+  commentCount?: number;
+  lastCommentedAt?: string;
+  commentsCursor?: number;
+  version?: number; // send back when assigning or changing status; a stale one gets 409
+  statusMoves?: Status[]; // statuses POST /ticket/{id}/status accepts from the current one
 }
 
 export interface Comment {
@@ -0,0 +1,52 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
+import com.ticketsystem.ticketsystem.utils.TicketMapper;
+
+// Response body writing for a ticket list, using the same Jackson defaults Spring MVC applies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations=3,time=2)
+@Measurement(iterations=5,time=2)
+@Fork(2)
+public class ApiWrapperSerializationBenchmark {
+
+    @Param({"20","500"})
+    public int tickets;
+
+    private ObjectMapper mapper;
+    private ApiWrapper<List<TicketResponseDTO>> body;
+
+    @Setup
+    public void setUp() throws JsonProcessingException{
+        mapper=Jackson2ObjectMapperBuilder.json().build();
+        body=ApiWrapper.success(Fixtures.tickets(tickets).stream().map(TicketMapper::toResponse).toList(),HttpStatus.OK);
+        System.out.printf("%n%d tickets: %d bytes of JSON%n",tickets,mapper.writeValueAsBytes(body).length);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException{
+        return mapper.writeValueAsBytes(body);
+    }
+}
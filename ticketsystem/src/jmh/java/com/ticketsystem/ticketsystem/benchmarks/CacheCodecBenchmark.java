@@ -0,0 +1,92 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import com.ticketsystem.ticketsystem.config.CacheCodec;
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
+import com.ticketsystem.ticketsystem.enums.Role;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cache value encode/decode: the JDK serialization RedisCacheConfiguration uses by default against
+ * CacheCodec, uncompressed and deflated. Payload sizes are printed once per fork at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=3,time=1)
+@Measurement(iterations=5,time=1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"10","200"})
+    public int entries;
+
+    private final JdkSerializationRedisSerializer jdk=new JdkSerializationRedisSerializer();
+    private final CacheCodec codec=new CacheCodec(Integer.MAX_VALUE,new SimpleMeterRegistry());
+    private final CacheCodec deflatingCodec=new CacheCodec(0,new SimpleMeterRegistry());
+
+    private List<DeveloperRosterEntry> roster;
+    private byte[] jdkBytes;
+    private byte[] codecBytes;
+    private byte[] deflatedBytes;
+
+    @Setup
+    public void setUp(){
+        roster=new ArrayList<>(entries);
+        for(int i=0;i<entries;i++){
+            roster.add(new DeveloperRosterEntry((long)i,"Developer "+i,Role.DEVELOPER,i%7));
+        }
+        jdkBytes=jdk.serialize(roster);
+        codecBytes=codec.serialize(roster);
+        deflatedBytes=deflatingCodec.serialize(roster);
+        System.out.printf("%n%d entries: jdk=%d bytes, codec=%d bytes, codec+deflate=%d bytes%n",
+                entries,jdkBytes.length,codecBytes.length,deflatedBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jdkEncode(){
+        return jdk.serialize(roster);
+    }
+
+    @Benchmark
+    public Object jdkDecode(){
+        return jdk.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public byte[] codecEncode(){
+        return codec.serialize(roster);
+    }
+
+    @Benchmark
+    public Object codecDecode(){
+        return codec.deserialize(codecBytes);
+    }
+
+    @Benchmark
+    public byte[] codecDeflateEncode(){
+        return deflatingCodec.serialize(roster);
+    }
+
+    @Benchmark
+    public Object codecDeflateDecode(){
+        return deflatingCodec.deserialize(deflatedBytes);
+    }
+}
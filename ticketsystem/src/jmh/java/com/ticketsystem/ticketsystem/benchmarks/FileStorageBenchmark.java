@@ -0,0 +1,91 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.ticketsystem.ticketsystem.service.FileStorageService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Photo upload handling: filename sanitizing on its own, and the full store (sanitize, write,
+ * build URL) into a temporary directory. Each stored file is deleted after the invocation so the
+ * disk does not fill up; the delete is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations=3,time=2)
+@Measurement(iterations=5,time=2)
+@Fork(2)
+public class FileStorageBenchmark {
+
+    @Param({"262144","2097152"})
+    public int photoBytes;
+
+    private Path dir;
+    private FileStorageService fileStore;
+    private MockMultipartFile photo;
+
+    // Invocation-level teardown only for store(), so cleanFileName() is measured without fixture overhead
+    @State(Scope.Thread)
+    public static class Stored {
+        private Path file;
+
+        @TearDown(Level.Invocation)
+        public void delete() throws IOException{
+            if(file!=null){
+                Files.deleteIfExists(file);
+                file=null;
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException{
+        dir=Files.createTempDirectory("filestore-bench");
+        fileStore=new FileStorageService(new SimpleMeterRegistry(),dir);
+        byte[] content=new byte[photoBytes];
+        new Random(42).nextBytes(content);
+        photo=new MockMultipartFile("photo","Screen Shot 2026-01-15 at 09.30.12 (1).png","image/png",content);
+    }
+
+    @Benchmark
+    public String cleanFileName(){
+        return FileStorageService.cleanFileName(photo.getOriginalFilename());
+    }
+
+    @Benchmark
+    public String store(Stored stored){
+        String url=fileStore.storeFiles(photo);
+        stored.file=dir.resolve(url.substring(url.lastIndexOf('/')+1));
+        return url;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException{
+        try(Stream<Path> files=Files.walk(dir)){
+            files.sorted(Comparator.reverseOrder()).forEach(path->path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+
+// Deterministic payloads (fixed seed) shaped like production rows: multi-sentence descriptions, 0-7 photos
+final class Fixtures {
+
+    static final String JWT_SECRET="benchmark-secret-benchmark-secret-0123456789";
+    static final LocalDateTime NOW=LocalDateTime.of(2026,1,15,9,30);
+
+    private static final TicketStatus[] STATUSES={TicketStatus.OPEN,TicketStatus.ASSIGNED,TicketStatus.INPROGRESS,TicketStatus.REOPENED,TicketStatus.RESOLVED};
+
+    private Fixtures(){
+    }
+
+    static List<Ticket> tickets(int count){
+        Random random=new Random(42);
+        Organization org=new Organization(1L,"Acme Support Ltd","it@acme.test","42 Harbour Road","x",5550100L,"IT",OrgPlans.PREMIUM,NOW,25);
+        List<Users> people=new ArrayList<>();
+        for(int i=0;i<20;i++){
+            people.add(new Users((long)i,org,"Person "+i,"person"+i+"@acme.test","x",NOW,i<5 ? Role.DEVELOPER : Role.CLIENT));
+        }
+        List<Ticket> tickets=new ArrayList<>(count);
+        for(int i=0;i<count;i++){
+            Ticket ticket=new Ticket();
+            ticket.setId((long)i+1);
+            ticket.setOrganization(org);
+            ticket.setTitle("Laptop "+i+" cannot reach the VPN after the latest update");
+            ticket.setDescription(("Since this morning the client drops the connection every few minutes. "
+                    +"Restarting the adapter helps briefly. Error code 0x"+Integer.toHexString(random.nextInt())+". ").repeat(1+random.nextInt(4)));
+            ticket.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            ticket.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            ticket.setClient(people.get(5+random.nextInt(15)));
+            if(random.nextBoolean()){
+                ticket.setAssignedTo(people.get(random.nextInt(5)));
+                ticket.setAssignedBy(people.get(0));
+            }
+            ticket.setCreatedAt(NOW.minusHours(random.nextInt(500)));
+            ticket.setDueDate(NOW.plusDays(random.nextInt(14)));
+            List<String> photos=new ArrayList<>();
+            for(int p=random.nextInt(8);p>0;p--){
+                photos.add("http://localhost:8080/uploads/"+Integer.toHexString(random.nextInt())+"-screenshot_"+p+".png");
+            }
+            ticket.setPhotoPath(photos);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
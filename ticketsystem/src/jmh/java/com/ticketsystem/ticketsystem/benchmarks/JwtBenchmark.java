@@ -0,0 +1,57 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
+
+/**
+ * Token work done on every authenticated request: JwtFilter verifies the token, and most
+ * controllers parse it again for the user and org ids (controllerClaims).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=3,time=2)
+@Measurement(iterations=5,time=2)
+@Fork(2)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp(){
+        jwtUtils=new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils,"secret",Fixtures.JWT_SECRET);
+        token=jwtUtils.generateToken("1042","MANAGER",7L,"PREMIUM");
+    }
+
+    @Benchmark
+    public String generate(){
+        return jwtUtils.generateToken("1042","MANAGER",7L,"PREMIUM");
+    }
+
+    @Benchmark
+    public boolean verify(){
+        return jwtUtils.isTokenValid(token,"1042","MANAGER",7L);
+    }
+
+    @Benchmark
+    public void controllerClaims(Blackhole blackhole){
+        blackhole.consume(jwtUtils.extractUserId(token));
+        blackhole.consume(jwtUtils.extractOrganizationId(token));
+    }
+}
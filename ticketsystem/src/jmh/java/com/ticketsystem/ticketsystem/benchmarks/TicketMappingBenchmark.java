@@ -0,0 +1,79 @@
+package com.ticketsystem.ticketsystem.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+import com.ticketsystem.ticketsystem.service.TicketReadModel;
+import com.ticketsystem.ticketsystem.service.TicketServiceImpl;
+import com.ticketsystem.ticketsystem.utils.TicketMapper;
+
+/**
+ * Entity to DTO mapping in the ticket list endpoints. The repository is a plain proxy returning
+ * fixed rows (a mocking framework would cost more than the mapping), so only the mapping and list
+ * building are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations=3,time=2)
+@Measurement(iterations=5,time=2)
+@Fork(2)
+public class TicketMappingBenchmark {
+
+    @Param({"20","500"})
+    public int tickets;
+
+    private List<Ticket> rows;
+    private TicketServiceImpl ticketService;
+
+    @Setup
+    public void setUp(){
+        rows=Fixtures.tickets(tickets);
+        Optional<List<Ticket>> unassigned=Optional.of(rows);
+        TicketRepository ticketRepo=(TicketRepository)Proxy.newProxyInstance(TicketRepository.class.getClassLoader(),
+                new Class<?>[]{TicketRepository.class},(proxy,method,args)->switch(method.getName()){
+                    case "findAllByFilters" -> rows;
+                    case "getTicketByAssignToAndStatus" -> unassigned;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // Read model disabled (app.readmodel.enabled defaults to false), so Redis is never touched
+        TicketReadModel readModel=new TicketReadModel(null,ticketRepo);
+        ticketService=new TicketServiceImpl(ticketRepo,null,null,null,null,readModel,null,null,Runnable::run,null);
+    }
+
+    @Benchmark
+    public Optional<List<TicketResponseDTO>> getAllTickets(){
+        return ticketService.getAllTickets(null,null,1L);
+    }
+
+    @Benchmark
+    public Optional<List<TicketResponseDTO>> getUnassignedTickets(){
+        return ticketService.getNullOpenTicketService("OPEN",1L);
+    }
+
+    @Benchmark
+    public TicketResponseDTO[] ticketMapper(){
+        TicketResponseDTO[] out=new TicketResponseDTO[rows.size()];
+        for(int i=0;i<out.length;i++){
+            out[i]=TicketMapper.toResponse(rows.get(i));
+        }
+        return out;
+    }
+}
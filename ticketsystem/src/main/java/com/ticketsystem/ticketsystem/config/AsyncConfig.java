@@ -0,0 +1,125 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for @Async work, mail delivery, password hashing and parallel read fan-out.
+ *
+ * With spring.threads.virtual.enabled=true on Java 21+, Spring Boot runs Tomcat requests on
+ * virtual threads, and @Async tasks and read fan-out do the same here. Everything blocking on
+ * those paths (JDBC, the AI RestTemplate) then parks instead of holding a platform thread.
+ * Mail workers and BCrypt hashing stay on their small platform pools, because their limits are
+ * deliberate: SMTP concurrency and CPU cores. On Java 17 the property is ignored and the
+ * bounded platform pools are used.
+ */
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger log=LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final Environment environment;
+
+    @Value("${app.async.pool-size:8}")
+    private int asyncPoolSize;
+
+    @Value("${app.async.queue-capacity:500}")
+    private int asyncQueueCapacity;
+
+    @Value("${app.mail.workers:2}")
+    private int mailWorkers;
+
+    @Value("${app.provisioning.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.reads.fan-out-threads:16}")
+    private int fanOutThreads;
+
+    public AsyncConfig(Environment environment){
+        this.environment=environment;
+        if(!Threading.VIRTUAL.isActive(environment) && environment.getProperty("spring.threads.virtual.enabled",Boolean.class,false)){
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform thread pools",Runtime.version().feature());
+        }
+    }
+
+    // Default executor for @Async; bounded in both threads and queued tasks
+    @Override
+    @Bean(name="taskExecutor")
+    public Executor getAsyncExecutor(){
+        if(Threading.VIRTUAL.isActive(environment)){
+            // Same bound on in-flight tasks as the platform pool below (threads plus queue); callers wait beyond it
+            return virtualExecutor("async-",asyncPoolSize+asyncQueueCapacity);
+        }
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(asyncPoolSize);
+        executor.setMaxPoolSize(asyncPoolSize);
+        executor.setQueueCapacity(asyncQueueCapacity);
+        executor.setThreadNamePrefix("async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // One thread per SMTP worker; extra drain requests are dropped since the queue lives in the DB
+    @Bean(name="mailExecutor")
+    public ThreadPoolTaskExecutor mailExecutor(){
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailWorkers);
+        executor.setMaxPoolSize(mailWorkers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is CPU bound: at most one thread per core (or app.provisioning.hash-threads), callers wait when it is saturated
+    @Bean(name="hashExecutor")
+    public ThreadPoolTaskExecutor hashExecutor(){
+        int threads=hashThreads>0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads*64);
+        executor.setThreadNamePrefix("hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Independent sub-queries of one read (see TicketServiceImpl.getTicketByIds), at most app.reads.fan-out-threads at a time.
+    // A busy platform pool makes the caller run the query itself; the virtual variant makes it wait
+    @Bean(name="readExecutor")
+    public Executor readExecutor(){
+        if(Threading.VIRTUAL.isActive(environment)){
+            return virtualExecutor("read-",fanOutThreads);
+        }
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fanOutThreads);
+        executor.setMaxPoolSize(fanOutThreads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("read-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualExecutor(String prefix,int concurrencyLimit){
+        SimpleAsyncTaskExecutor executor=new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+}
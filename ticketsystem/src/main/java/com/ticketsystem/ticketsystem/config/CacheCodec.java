@@ -0,0 +1,158 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Redis cache value format: one magic byte, the schema version, a flags byte, then Smile (binary
+ * JSON) carrying the class names it needs to read the value back. Smile writes repeated property
+ * names and class names once and refers back to them, so lists of DTOs stay small. Bodies above the compression threshold are
+ * deflated. Values written under another schema version, in the old JDK format, or that no longer
+ * bind to their class are read as cache misses and get reloaded.
+ *
+ * Bump SCHEMA_VERSION when a cached class is renamed or a field changes type; added and removed
+ * fields are tolerated without a bump.
+ */
+public class CacheCodec implements RedisSerializer<Object> {
+
+    public static final byte MAGIC=(byte)0xCB;
+    public static final byte SCHEMA_VERSION=1;
+
+    private static final int HEADER_SIZE=3;
+    private static final byte FLAG_DEFLATED=1;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final int compressThreshold;
+    private final Counter versionMisses;
+    private final Counter unreadable;
+
+    public CacheCodec(int compressThreshold,MeterRegistry meterRegistry){
+        this.compressThreshold=compressThreshold;
+        SmileFactory smile=SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper=SmileMapper.builder(smile)
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.ticketsystem.ticketsystem.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.time.")
+                        .allowIfSubType("java.lang.")
+                        .build(),ObjectMapper.DefaultTyping.NON_FINAL)
+                .build();
+        // Written and read as Object so that top-level final types such as Long keep their type too
+        this.writer=mapper.writerFor(Object.class);
+        this.reader=mapper.readerFor(Object.class);
+        this.versionMisses=Counter.builder("cache.codec.misses").tag("reason","version")
+                .description("Cached values dropped because of a different format or schema version").register(meterRegistry);
+        this.unreadable=Counter.builder("cache.codec.misses").tag("reason","unreadable")
+                .description("Cached values dropped because they no longer bind to their class").register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value){
+        if(value==null){
+            return new byte[0];
+        }
+        byte[] body;
+        try{
+            body=writer.writeValueAsBytes(value);
+        }catch(IOException e){
+            throw new SerializationException("Cannot encode cache value of type "+value.getClass().getName(),e);
+        }
+        byte flags=0;
+        if(body.length>compressThreshold){
+            byte[] deflated=deflate(body);
+            if(deflated.length<body.length){
+                body=deflated;
+                flags|=FLAG_DEFLATED;
+            }
+        }
+        byte[] out=new byte[HEADER_SIZE+body.length];
+        out[0]=MAGIC;
+        out[1]=SCHEMA_VERSION;
+        out[2]=flags;
+        System.arraycopy(body,0,out,HEADER_SIZE,body.length);
+        return out;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes){
+        if(bytes==null || bytes.length==0){
+            return null;
+        }
+        if(bytes.length<HEADER_SIZE || bytes[0]!=MAGIC || bytes[1]!=SCHEMA_VERSION){
+            versionMisses.increment();
+            return null;
+        }
+        try{
+            byte[] body=Arrays.copyOfRange(bytes,HEADER_SIZE,bytes.length);
+            if((bytes[2]&FLAG_DEFLATED)!=0){
+                body=inflate(body);
+            }
+            return reader.readValue(body);
+        }catch(IOException|DataFormatException e){
+            unreadable.increment();
+            return null;
+        }
+    }
+
+    private static byte[] deflate(byte[] body){
+        Deflater deflater=new Deflater(Deflater.BEST_SPEED,true);
+        try{
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out=new ByteArrayOutputStream(body.length/2);
+            byte[] buffer=new byte[4096];
+            while(!deflater.finished()){
+                out.write(buffer,0,deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        }finally{
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] body) throws DataFormatException{
+        Inflater inflater=new Inflater(true);
+        try{
+            inflater.setInput(body);
+            ByteArrayOutputStream out=new ByteArrayOutputStream(body.length*3);
+            byte[] buffer=new byte[4096];
+            while(!inflater.finished()){
+                int read=inflater.inflate(buffer);
+                if(read==0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    throw new DataFormatException("Truncated cache value");
+                }
+                out.write(buffer,0,read);
+            }
+            return out.toByteArray();
+        }finally{
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Replaces the spring.cache.type cache manager; set app.cache.two-level.enabled=false to fall back to it
+@Configuration
+@ConditionalOnProperty(name="app.cache.two-level.enabled",havingValue="true",matchIfMissing=true)
+public class CacheConfig {
+
+    @Value("${app.cache.l1.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${app.cache.l1.ttl-ms:60000}")
+    private long localTtlMs;
+
+    @Value("${app.cache.l2.ttl-ms:0}")
+    private long remoteTtlMs;
+
+    @Value("${app.cache.codec.compress-threshold:1024}")
+    private int compressThreshold;
+
+    @Value("${app.cache.invalidation-channel:cache:invalidate}")
+    private String invalidationChannel;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,StringRedisTemplate redis,MeterRegistry meterRegistry){
+        RedisCacheConfiguration defaults=RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(SerializationPair.fromSerializer(new CacheCodec(compressThreshold,meterRegistry)));
+        if(remoteTtlMs>0){
+            defaults=defaults.entryTtl(Duration.ofMillis(remoteTtlMs));
+        }
+        RedisCacheManager remote=RedisCacheManager.builder(connectionFactory).cacheDefaults(defaults).build();
+        remote.initializeCaches();
+        return new TwoLevelCacheManager(remote,redis,meterRegistry,invalidationChannel,localMaxSize,Duration.ofMillis(localTtlMs));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,TwoLevelCacheManager cacheManager){
+        RedisMessageListenerContainer container=new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager,new ChannelTopic(invalidationChannel));
+        return container;
+    }
+}
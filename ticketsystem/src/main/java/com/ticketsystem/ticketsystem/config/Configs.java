@@ -1,5 +1,6 @@
 package com.ticketsystem.ticketsystem.config;
 
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -11,4 +12,10 @@ public class Configs {
     public RestTemplate template(){
         return new RestTemplate();
     }
+
+    // With app.cache.two-level.enabled=false Boot builds a plain Redis cache manager; defer its writes to commit too
+    @Bean
+    public RedisCacheManagerBuilderCustomizer transactionAwareRedisCache(){
+        return builder->builder.transactionAware();
+    }
 }
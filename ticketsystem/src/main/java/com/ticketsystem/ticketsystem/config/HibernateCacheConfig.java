@@ -0,0 +1,92 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache for the reference data every ticket and comment points at. Each
+ * node keeps its own Caffeine regions, declared here with their size and time-to-live; an entity
+ * or natural id mapped to any other region fails at startup. The hibernate.second.level.cache.*
+ * meters (MetricsConfig) report hits, misses and puts per region.
+ *
+ * Regions:
+ * organization    Organization rows
+ * users           Users rows
+ * users-by-email  email to user id, the natural id behind UserRepo.findByEmail
+ *
+ * Writes made through Hibernate refresh the writing node's regions, and bulk updates
+ * (OrganizationRepo.reserveSeats) evict the whole region there. Other nodes only see the change
+ * when their entry expires, so the TTLs bound how stale they can be. Users and Organization are
+ * written once at registration and never edited, except Organization.seatCount, which
+ * OrganizationService reads past the cache.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    static final String ORGANIZATION_REGION="organization";
+    static final String USERS_REGION="users";
+    static final String USERS_BY_EMAIL_REGION="users-by-email";
+
+    // The provider shares a CacheManager per URI, and Hibernate closes its manager on shutdown
+    private static final AtomicInteger MANAGERS=new AtomicInteger();
+
+    @Value("${app.hibernate-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.hibernate-cache.organization.max-size:10000}")
+    private long organizationMaxSize;
+
+    @Value("${app.hibernate-cache.organization.ttl-ms:300000}")
+    private long organizationTtlMs;
+
+    @Value("${app.hibernate-cache.users.max-size:100000}")
+    private long usersMaxSize;
+
+    @Value("${app.hibernate-cache.users.ttl-ms:300000}")
+    private long usersTtlMs;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(){
+        return properties->{
+            if(!enabled){
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE,true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,"jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER,cacheManager());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY,"fail");
+        };
+    }
+
+    private CacheManager cacheManager(){
+        CacheManager manager=Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-"+MANAGERS.incrementAndGet()),getClass().getClassLoader());
+        manager.createCache(ORGANIZATION_REGION,region(organizationMaxSize,organizationTtlMs));
+        manager.createCache(USERS_REGION,region(usersMaxSize,usersTtlMs));
+        manager.createCache(USERS_BY_EMAIL_REGION,region(usersMaxSize,usersTtlMs));
+        return manager;
+    }
+
+    // Hibernate caches immutable disassembled state, so entries are kept by reference
+    private static CaffeineConfiguration<Object,Object> region(long maxSize,long ttlMs){
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.ticketsystem.ticketsystem.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// JDBC batching for Hibernate inserts and updates; spring.jpa.properties.hibernate.* still wins
+@Configuration
+public class JdbcBatchConfig {
+
+    // Matches the allocationSize of the pooled id sequences, so one id block fills one batch
+    @Value("${app.jpa.batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(){
+        return properties->{
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE,batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS,true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES,true);
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class KafkaConfig {
+
+    @Value("${app.kafka.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${app.kafka.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${app.kafka.compression-type:lz4}")
+    private String compressionType;
+
+    // Keys are org ids, values are raw bytes written by the outbox; acks=all + idempotence for at-least-once without broker-side dupes
+    @Bean
+    public ProducerFactory<String,byte[]> producerFactory(KafkaProperties properties,MeterRegistry meterRegistry){
+        Map<String,Object> props=properties.buildProducerProperties(null);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,ByteArraySerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG,"all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG,true);
+        // Throughput defaults for the relay's bursts; SPRING_KAFKA_PRODUCER_* settings still win
+        props.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG,lingerMs);
+        props.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG,batchSize);
+        props.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG,compressionType);
+        DefaultKafkaProducerFactory<String,byte[]> factory=new DefaultKafkaProducerFactory<>(props);
+        // Client-side producer metrics (kafka.producer.*)
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String,byte[]> kafkaTemplate(ProducerFactory<String,byte[]> producerFactory){
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    // For consumers of the binary ticket-events stream (see TicketEvent)
+    @Bean
+    public ConsumerFactory<String,byte[]> ticketEventConsumerFactory(KafkaProperties properties){
+        Map<String,Object> props=properties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,ByteArrayDeserializer.class);
+        props.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,"earliest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String,byte[]> ticketEventListenerFactory(ConsumerFactory<String,byte[]> ticketEventConsumerFactory){
+        ConcurrentKafkaListenerContainerFactory<String,byte[]> factory=new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(ticketEventConsumerFactory);
+        return factory;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/**
+ * Metrics scraped from /actuator/prometheus. Latency timers listed in HISTOGRAM_METERS publish
+ * histogram buckets so percentiles can be aggregated across nodes. Hibernate statistics back the
+ * hibernate.* meters, and every repository call records its statement count.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> HISTOGRAM_METERS=List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "repository.statements",
+            "ai.request.latency",
+            "kafka.send.latency",
+            "mail.send.latency",
+            "file.store.latency");
+
+    @Value("${app.metrics.hibernate-statistics:true}")
+    private boolean hibernateStatistics;
+
+    @Bean
+    public MeterFilter latencyHistograms(){
+        return new MeterFilter(){
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id,DistributionStatisticConfig config){
+                if(!HISTOGRAM_METERS.contains(id.getName())){
+                    return config;
+                }
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementMetricsCustomizer(){
+        return properties->{
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR,new SqlStatementCounter());
+            if(hibernateStatistics){
+                properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS,true);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryStatementMetrics(ObjectProvider<MeterRegistry> meterRegistry){
+        return new BeanPostProcessor(){
+            @Override
+            public Object postProcessBeforeInitialization(Object bean,String beanName){
+                if(bean instanceof RepositoryFactoryBeanSupport<?,?,?> factoryBean){
+                    factoryBean.addRepositoryFactoryCustomizer(factory->factory.addRepositoryProxyPostProcessor((proxy,information)->
+                            proxy.addAdvice(new RepositoryStatementMetrics(information.getRepositoryInterface().getSimpleName(),
+                                    meterRegistry.getObject()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read replicas, enabled by listing their JDBC URLs in app.datasource.replica-urls (comma
+ * separated). The primary pool keeps using spring.datasource.* and spring.datasource.hikari.*.
+ * Every replica gets its own read-only pool with the same credentials, unless
+ * app.datasource.replica-username/-password are set.
+ *
+ * Service methods marked {@code @Transactional(readOnly=true)}, and Spring Data finders called
+ * outside a transaction, read from a replica. Writes, and reads inside a read-write transaction,
+ * stay on the primary. Without replica URLs this class is skipped, and Spring Boot's single
+ * DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica-urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    // Replay lag of a streaming Postgres standby; 0 when it has replayed everything it received
+    static final String POSTGRES_LAG_QUERY="SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            +"ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+    @Value("${app.datasource.replica-urls}")
+    private String replicaUrls;
+
+    @Value("${app.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica-max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.replica-check-interval-ms:2000}")
+    private long checkIntervalMs;
+
+    // Single value: the replica's lag in milliseconds
+    @Value("${app.datasource.replica-lag-query:}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties){
+        HikariDataSource primary=properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,DataSourceProperties properties,MeterRegistry registry){
+        Map<String,DataSource> replicas=new LinkedHashMap<>();
+        String[] urls=replicaUrls.split(",");
+        for(int i=0;i<urls.length;i++){
+            HikariDataSource replica=DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls[i].trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setPoolName("replica-"+i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.put("replica-"+i,replica);
+        }
+        ReplicaRoutingDataSource routing=new ReplicaRoutingDataSource(primaryDataSource,replicas,maxLagMs,
+                lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery,registry);
+        routing.start(checkIntervalMs);
+        return routing;
+    }
+
+    // What JPA and JdbcTemplate use; defers the routing decision to the first statement
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource){
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
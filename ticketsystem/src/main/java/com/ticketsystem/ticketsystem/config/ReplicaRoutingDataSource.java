@@ -0,0 +1,150 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the read replicas round-robin and everything else to the
+ * primary. A background check runs lagQuery on every replica each interval. A replica that fails
+ * the check, or reports more than maxLagMs of lag, is skipped until a later check passes. With no
+ * usable replica, reads fall back to the primary.
+ *
+ * The routing decision reads the transaction's read-only flag, which Spring sets only after the
+ * transaction has begun. It must therefore sit behind a LazyConnectionDataSourceProxy, which
+ * fetches the physical connection at the first statement (see ReadReplicaConfig).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger log=LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY="primary";
+
+    private final List<Replica> replicas=new ArrayList<>();
+    private final AtomicInteger next=new AtomicInteger();
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final Counter replicaReads;
+    private final Counter primaryFallbacks;
+    private ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(DataSource primary,Map<String,DataSource> replicaDataSources,long maxLagMs,String lagQuery,MeterRegistry registry){
+        this.maxLagMs=maxLagMs;
+        this.lagQuery=lagQuery;
+        Map<Object,Object> targets=new HashMap<>();
+        targets.put(PRIMARY,primary);
+        replicaDataSources.forEach((name,dataSource)->{
+            Replica replica=new Replica(name,dataSource);
+            replicas.add(replica);
+            targets.put(name,dataSource);
+            Gauge.builder("datasource.replica.lag",replica,r->r.lagMs)
+                    .description("Replication lag reported by the last check, -1 when the replica is unreachable")
+                    .baseUnit("milliseconds")
+                    .tag("replica",name)
+                    .register(registry);
+            Gauge.builder("datasource.replica.available",replica,r->r.usable ? 1 : 0)
+                    .tag("replica",name)
+                    .register(registry);
+        });
+        this.replicaReads=Counter.builder("datasource.reads").tag("target","replica").register(registry);
+        this.primaryFallbacks=Counter.builder("datasource.reads").tag("target","primary").register(registry);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    // Checks once so the replicas are usable from the first request, then every intervalMs
+    public void start(long intervalMs){
+        checkReplicas();
+        checker=Executors.newSingleThreadScheduledExecutor(r->{
+            Thread thread=new Thread(r,"replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas,intervalMs,intervalMs,TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey(){
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()){
+            return PRIMARY;
+        }
+        int start=Math.floorMod(next.getAndIncrement(),replicas.size());
+        for(int i=0;i<replicas.size();i++){
+            Replica replica=replicas.get((start+i)%replicas.size());
+            if(replica.usable){
+                replicaReads.increment();
+                return replica.name;
+            }
+        }
+        primaryFallbacks.increment();
+        return PRIMARY;
+    }
+
+    void checkReplicas(){
+        for(Replica replica:replicas){
+            boolean wasUsable=replica.usable;
+            try(Connection connection=replica.dataSource.getConnection();
+                    Statement statement=connection.createStatement();
+                    ResultSet rs=statement.executeQuery(lagQuery)){
+                replica.lagMs=rs.next() ? rs.getLong(1) : 0;
+                replica.usable=replica.lagMs<=maxLagMs;
+            }catch(SQLException e){
+                replica.lagMs=-1;
+                replica.usable=false;
+            }
+            // lag -1: the replica could not be reached or queried
+            if(wasUsable!=replica.usable){
+                if(replica.usable){
+                    log.info("Read replica {} in rotation (lag {} ms, max {} ms)",replica.name,replica.lagMs,maxLagMs);
+                }else{
+                    log.warn("Read replica {} taken out of rotation (lag {} ms, max {} ms)",replica.name,replica.lagMs,maxLagMs);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception{
+        if(checker!=null){
+            checker.shutdownNow();
+        }
+        for(Replica replica:replicas){
+            if(replica.dataSource instanceof AutoCloseable closeable){
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile long lagMs=-1;
+
+        Replica(String name,DataSource dataSource){
+            this.name=name;
+            this.dataSource=dataSource;
+        }
+    }
+}
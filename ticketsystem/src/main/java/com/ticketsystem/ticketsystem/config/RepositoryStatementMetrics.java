@@ -0,0 +1,41 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Records how many SQL statements each repository method issued; timings come from spring.data.repository.invocations
+class RepositoryStatementMetrics implements MethodInterceptor {
+
+    private final String repository;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method,DistributionSummary> summaries=new ConcurrentHashMap<>();
+
+    RepositoryStatementMetrics(String repository,MeterRegistry meterRegistry){
+        this.repository=repository;
+        this.meterRegistry=meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable{
+        long before=SqlStatementCounter.current();
+        try{
+            return invocation.proceed();
+        }finally{
+            summaries.computeIfAbsent(invocation.getMethod(),this::summary).record(SqlStatementCounter.current()-before);
+        }
+    }
+
+    private DistributionSummary summary(Method method){
+        return DistributionSummary.builder("repository.statements")
+                .description("SQL statements issued per repository call")
+                .tag("repository",repository).tag("method",method.getName())
+                .register(meterRegistry);
+    }
+}
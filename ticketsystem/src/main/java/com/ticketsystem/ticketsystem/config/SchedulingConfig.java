@@ -0,0 +1,12 @@
+package com.ticketsystem.ticketsystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background workers (mail dispatcher, ...) can be switched off with APP_SCHEDULING_ENABLED=false
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name="app.scheduling.enabled",havingValue="true",matchIfMissing=true)
+public class SchedulingConfig {
+}
@@ -39,6 +39,8 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         .authorizeHttpRequests(auth -> auth
             .requestMatchers("/auth/login", "/auth/register", "/organization/create-organization").permitAll()
             . requestMatchers("/uploads/**").permitAll()
+            // Scraped by Prometheus; the management port is not published outside the compose network
+            .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
             .anyRequest().authenticated()
         )
         .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
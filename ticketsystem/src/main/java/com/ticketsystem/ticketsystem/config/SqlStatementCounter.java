@@ -0,0 +1,23 @@
+package com.ticketsystem.ticketsystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered as the
+ * session factory's statement inspector by MetricsConfig; read the count before and after a
+ * unit of work and subtract.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT=ThreadLocal.withInitial(()->new long[1]);
+
+    public static long current(){
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql){
+        COUNT.get()[0]++;
+        return sql;
+    }
+}
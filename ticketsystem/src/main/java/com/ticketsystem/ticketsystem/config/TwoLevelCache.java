@@ -0,0 +1,134 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process L1 (Caffeine) in front of a shared L2 (Redis). Writes and evictions go to L2 first,
+ * then drop the local entry and tell the other nodes to drop theirs. L1 keys are the string form
+ * of the cache key, the same form RedisCache and the invalidation messages use.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String,ValueWrapper> local;
+    private final Cache remote;
+    private final TwoLevelCacheManager manager;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    TwoLevelCache(String name,com.github.benmanes.caffeine.cache.Cache<String,ValueWrapper> local,Cache remote,
+            TwoLevelCacheManager manager,MeterRegistry meterRegistry){
+        this.name=name;
+        this.local=local;
+        this.remote=remote;
+        this.manager=manager;
+        this.localHits=gets(meterRegistry,"l1","hit");
+        this.localMisses=gets(meterRegistry,"l1","miss");
+        this.remoteHits=gets(meterRegistry,"l2","hit");
+        this.remoteMisses=gets(meterRegistry,"l2","miss");
+        Gauge.builder("cache.l1.size",local,c->c.estimatedSize()).tag("cache",name)
+                .description("Entries held in the in-process cache level").register(meterRegistry);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry,String level,String result){
+        return Counter.builder("cache.level.gets").tag("cache",name).tag("level",level).tag("result",result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName(){
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache(){
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key){
+        String localKey=String.valueOf(key);
+        ValueWrapper value=local.getIfPresent(localKey);
+        if(value!=null){
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+        value=remote.get(key);
+        if(value==null){
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey,value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key,Class<T> type){
+        ValueWrapper value=get(key);
+        if(value==null){
+            return null;
+        }
+        Object stored=value.get();
+        if(stored!=null && type!=null && !type.isInstance(stored)){
+            throw new IllegalStateException("Cached value is not of required type ["+type.getName()+"]: "+stored);
+        }
+        return (T)stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key,Callable<T> valueLoader){
+        ValueWrapper value=get(key);
+        if(value!=null){
+            return (T)value.get();
+        }
+        // RedisCache re-checks and loads under its own lock, so concurrent misses on this node load once
+        T loaded=remote.get(key,valueLoader);
+        local.put(String.valueOf(key),new SimpleValueWrapper(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key,Object value){
+        remote.put(key,value);
+        String localKey=String.valueOf(key);
+        local.put(localKey,new SimpleValueWrapper(value));
+        manager.publishEvict(name,localKey);
+    }
+
+    @Override
+    public void evict(Object key){
+        remote.evict(key);
+        String localKey=String.valueOf(key);
+        local.invalidate(localKey);
+        manager.publishEvict(name,localKey);
+    }
+
+    @Override
+    public void clear(){
+        remote.clear();
+        local.invalidateAll();
+        manager.publishClear(name);
+    }
+
+    void evictLocal(String key){
+        local.invalidate(key);
+    }
+
+    void clearLocal(){
+        local.invalidateAll();
+    }
+}
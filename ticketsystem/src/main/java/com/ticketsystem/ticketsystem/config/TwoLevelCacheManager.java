@@ -0,0 +1,123 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out {@link TwoLevelCache}s and keeps the L1s of all nodes coherent. Every local write or
+ * eviction is published as "nodeId|E|cache|key" (or "nodeId|C|cache|" for a clear); nodes drop the
+ * matching L1 entries of messages that are not their own. A lost message is bounded by the L1 TTL.
+ */
+public class TwoLevelCacheManager implements CacheManager,MessageListener {
+
+    private static final Logger log=LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private static final String EVICT="E";
+    private static final String CLEAR="C";
+
+    private final RedisCacheManager remote;
+    private final StringRedisTemplate redis;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String nodeId=UUID.randomUUID().toString();
+    private final Map<String,TwoLevelCache> caches=new ConcurrentHashMap<>();
+    private final Map<String,Cache> transactionAware=new ConcurrentHashMap<>();
+    private final Counter invalidationsReceived;
+    private final Counter invalidationsFailed;
+
+    public TwoLevelCacheManager(RedisCacheManager remote,StringRedisTemplate redis,MeterRegistry meterRegistry,String channel,
+            long localMaxSize,Duration localTtl){
+        this.remote=remote;
+        this.redis=redis;
+        this.meterRegistry=meterRegistry;
+        this.channel=channel;
+        this.localMaxSize=localMaxSize;
+        this.localTtl=localTtl;
+        this.invalidationsReceived=Counter.builder("cache.invalidations.received")
+                .description("L1 invalidations received from other nodes").register(meterRegistry);
+        this.invalidationsFailed=Counter.builder("cache.invalidations.publish.failed")
+                .description("L1 invalidations that could not be broadcast").register(meterRegistry);
+    }
+
+    // Puts, evictions and clears made inside a transaction apply once it commits. @CacheEvict next to @Transactional
+    // would otherwise run before the commit, and a concurrent read could re-cache the old state on every node
+    @Override
+    public Cache getCache(String name){
+        return transactionAware.computeIfAbsent(name,n->{
+            TwoLevelCache cache=caches.computeIfAbsent(n,this::create);
+            return cache!=null ? new TransactionAwareCacheDecorator(cache) : null;
+        });
+    }
+
+    private TwoLevelCache create(String name){
+        Cache l2=remote.getCache(name);
+        if(l2==null){
+            return null;
+        }
+        return new TwoLevelCache(name,Caffeine.newBuilder().maximumSize(localMaxSize).expireAfterWrite(localTtl).build(),
+                l2,this,meterRegistry);
+    }
+
+    @Override
+    public Collection<String> getCacheNames(){
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    void publishEvict(String cacheName,String key){
+        publish(nodeId+"|"+EVICT+"|"+cacheName+"|"+key);
+    }
+
+    void publishClear(String cacheName){
+        publish(nodeId+"|"+CLEAR+"|"+cacheName+"|");
+    }
+
+    private void publish(String message){
+        try{
+            redis.convertAndSend(channel,message);
+        }catch(RuntimeException e){
+            // The write itself already reached L2; other nodes catch up when their L1 entry expires
+            invalidationsFailed.increment();
+            log.warn("Cache invalidation not published on {}: {}",channel,e.toString());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message,byte[] pattern){
+        String[] parts=new String(message.getBody(),StandardCharsets.UTF_8).split("\\|",4);
+        if(parts.length<4 || nodeId.equals(parts[0])){
+            return;
+        }
+        TwoLevelCache cache=caches.get(parts[2]);
+        if(cache==null){
+            return;
+        }
+        invalidationsReceived.increment();
+        if(CLEAR.equals(parts[1])){
+            cache.clearLocal();
+        }else{
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
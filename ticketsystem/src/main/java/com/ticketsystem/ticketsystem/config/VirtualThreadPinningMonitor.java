@@ -0,0 +1,82 @@
+package com.ticketsystem.ticketsystem.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that stayed pinned to their carrier (blocking inside synchronized or
+ * native code) for longer than app.threads.pinned-threshold-ms. Only created when virtual threads
+ * are active. Each pinning site is logged once with its stack, and every event is recorded in
+ * the jvm.threads.virtual.pinned timer.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log=LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT="jdk.VirtualThreadPinned";
+
+    private final RecordingStream stream=new RecordingStream();
+    private final Set<String> reportedSites=ConcurrentHashMap.newKeySet();
+    private final Timer pinned;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,@Value("${app.threads.pinned-threshold-ms:20}") long thresholdMs){
+        this.pinned=Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to a carrier thread")
+                .register(registry);
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT,this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event){
+        pinned.record(event.getDuration());
+        if(event.getStackTrace()==null){
+            return;
+        }
+        // The first frame of our own code identifies the site; fall back to the top frame
+        RecordedFrame site=null;
+        for(RecordedFrame frame:event.getStackTrace().getFrames()){
+            if(site==null){
+                site=frame;
+            }
+            if(frame.getMethod().getType().getName().startsWith("com.ticketsystem.")){
+                site=frame;
+                break;
+            }
+        }
+        if(site==null){
+            return;
+        }
+        String location=site.getMethod().getType().getName()+"."+site.getMethod().getName()+":"+site.getLineNumber();
+        if(reportedSites.add(location)){
+            StringBuilder stack=new StringBuilder();
+            for(RecordedFrame frame:event.getStackTrace().getFrames()){
+                stack.append("\n    at ").append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+            log.warn("Virtual thread pinned for {} ms at {}{}",event.getDuration().toMillis(),location,stack);
+        }
+    }
+
+    @PreDestroy
+    public void close(){
+        stream.close();
+    }
+}
@@ -3,6 +3,7 @@ package com.ticketsystem.ticketsystem.config;
 
 import java.nio.file.Paths;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -10,11 +11,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${app.upload-dir:uploads}")
+    private String uploadDir;
     
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Get absolute path of "uploads" folder at project root
-        String uploadPath = Paths.get("uploads").toAbsolutePath().toUri().toString();
+        // Same directory FileStorageService writes to ("uploads" at project root by default)
+        String uploadPath = Paths.get(uploadDir).toAbsolutePath().toUri().toString();
 
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations(uploadPath);
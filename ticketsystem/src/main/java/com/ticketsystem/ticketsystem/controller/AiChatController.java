@@ -11,9 +11,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.ticketsystem.ticketsystem.dto.AiResponse;
 import com.ticketsystem.ticketsystem.dto.ApiWrapper;
 import com.ticketsystem.ticketsystem.exception.InvalidRoleException;
-import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 import com.ticketsystem.ticketsystem.service.AIService;
+import com.ticketsystem.ticketsystem.service.OrgMetadataService;
 import com.ticketsystem.ticketsystem.utils.JwtUtils;
 
 @RestController
@@ -22,13 +22,13 @@ public class AiChatController {
     
     private final UserRepo userRepo;
     private final JwtUtils jwtUtils;
-    private final OrganizationRepo orgRepo;
+    private final OrgMetadataService orgMetadata;
     private final AIService aiService;
 
-    public AiChatController(UserRepo userRepo,JwtUtils jwtUtils, OrganizationRepo orgRepo,AIService aiService){
+    public AiChatController(UserRepo userRepo,JwtUtils jwtUtils, OrgMetadataService orgMetadata,AIService aiService){
         this.userRepo=userRepo;
         this.jwtUtils=jwtUtils;
-        this.orgRepo=orgRepo;
+        this.orgMetadata=orgMetadata;
         this.aiService=aiService;
     }
 
@@ -36,13 +36,13 @@ public class AiChatController {
     @PostMapping("/ask")
     public ResponseEntity<ApiWrapper<?>> sendAiPromptController(@RequestHeader("Authorization")String authHeader,@RequestBody String question){
         String jwt=authHeader.replace("Bearer","");
-        String plan=jwtUtils.extractOrgPLan(jwt);
-        if(!plan.equalsIgnoreCase("PREMIUM")){
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        // The orgPlan claim is only as fresh as the token, so the plan is checked against the organization itself
+        if(!orgMetadata.get(orgId).hasAiAssistant()){
             throw new InvalidRoleException("Please purchase the plan PREMIUM to access");
         }
 
         String userRole=jwtUtils.extractRole(jwt);
-        Long orgId=jwtUtils.extractOrganizationId(jwt);
         String userId=jwtUtils.extractUserId(jwt);
 
         AiResponse response=aiService.sendAiPrompt(question, orgId, Long.valueOf(userId), userRole);
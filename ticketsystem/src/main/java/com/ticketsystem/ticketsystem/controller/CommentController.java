@@ -1,15 +1,20 @@
 package com.ticketsystem.ticketsystem.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.dto.CommentPageResponse;
 import com.ticketsystem.ticketsystem.entity.Comments;
 import com.ticketsystem.ticketsystem.service.CommentService;
 import com.ticketsystem.ticketsystem.utils.JwtUtils;
@@ -32,8 +37,31 @@ public class CommentController {
         
         String jwt=authHeader.replace("Bearer","");
         String userId=jwtUtils.extractUserId(jwt);
-        String response=commentService.addCommentService(ticketId,Long.valueOf(userId),comment);
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        String response=commentService.addCommentService(ticketId,Long.valueOf(userId),orgId,comment);
         
         return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.CREATED));
     }
+
+    @PostMapping("/{ticketId}/comments")
+    public ResponseEntity<ApiWrapper<?>> addCommentsController(@RequestHeader("Authorization") String authHeader, @PathVariable("ticketId") Long ticketId,@RequestBody List<Comments> comments){
+
+        String jwt=authHeader.replace("Bearer","");
+        String userId=jwtUtils.extractUserId(jwt);
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        int added=commentService.addCommentsService(ticketId,Long.valueOf(userId),orgId,comments);
+
+        return ResponseEntity.ok(ApiWrapper.success(added+" Comments Added Successfully",HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{ticketId}/comments")
+    public ResponseEntity<ApiWrapper<?>> getCommentsController(@RequestHeader("Authorization") String authHeader, @PathVariable("ticketId") Long ticketId,
+            @RequestParam(value="cursor",required=false) Long cursor,@RequestParam(value="size",defaultValue="20") int size){
+
+        String jwt=authHeader.replace("Bearer","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        CommentPageResponse response=commentService.getCommentsService(ticketId,orgId,cursor,size);
+
+        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
+    }
 }
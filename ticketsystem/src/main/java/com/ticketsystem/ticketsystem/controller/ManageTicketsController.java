@@ -3,7 +3,7 @@ package com.ticketsystem.ticketsystem.controller;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +12,14 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.ticketsystem.ticketsystem.dto.ApiWrapper;
 import com.ticketsystem.ticketsystem.dto.SingleTicketResponse;
 import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 import com.ticketsystem.ticketsystem.service.TicketService;
+import com.ticketsystem.ticketsystem.service.TicketVersionService;
 import com.ticketsystem.ticketsystem.service.UserService;
 import com.ticketsystem.ticketsystem.utils.JwtUtils;
 
@@ -25,42 +27,56 @@ import com.ticketsystem.ticketsystem.utils.JwtUtils;
 @RequestMapping("/ticket")
 public class ManageTicketsController {
 
+    // Browsers may keep a list but must revalidate it with If-None-Match on every use
+    static final CacheControl REVALIDATE=CacheControl.noCache().cachePrivate();
+
     private final JwtUtils jwtUtils;
     private final TicketService ticketService;
     private final UserService userService;
     private final UserRepo userRepo;
+    private final TicketVersionService ticketVersions;
 
     public ManageTicketsController(JwtUtils jwtUtils, TicketService ticketService, UserService userService,
-            UserRepo userRepo) {
+            UserRepo userRepo, TicketVersionService ticketVersions) {
         this.jwtUtils = jwtUtils;
         this.ticketService = ticketService;
         this.userService = userService;
         this.userRepo = userRepo;
+        this.ticketVersions = ticketVersions;
     }
 
-    @Cacheable(value = "allTickets", key = "'tickets'")
+    // Lists carry the org's ticket version as ETag; checkNotModified answers a matching If-None-Match with 304
+    // (the null return) before any query runs, and otherwise sets the ETag on the full response
     @GetMapping("/getalltickets")
     public ResponseEntity<ApiWrapper<?>> getAllTickets(@RequestHeader("Authorization") String authHeader,@RequestParam(required = false) String priority,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,WebRequest webRequest) {
         
         String jwt=authHeader.replace("Bearer","");
         Long orgId=jwtUtils.extractOrganizationId(jwt);      
+        String etag=ticketVersions.etag(orgId,"");
+        if(etag!=null && webRequest.checkNotModified(etag)){
+            return null;
+        }
         Optional<List<TicketResponseDTO>> list = ticketService.getAllTickets(priority, status,orgId);
         if (list.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiWrapper.error(HttpStatus.NOT_FOUND, "No tickets", "Not Found"));
         }
-        return ResponseEntity.status(HttpStatus.OK).body(ApiWrapper.success(list, HttpStatus.OK));
+        return ResponseEntity.status(HttpStatus.OK).cacheControl(REVALIDATE).body(ApiWrapper.success(list, HttpStatus.OK));
     }
 
     @GetMapping("/getticketbysort")
     public ResponseEntity<ApiWrapper<?>> getTicketsBySortByPriority(@RequestHeader("Authorization") String authHeader,
-            @RequestParam(name = "direction", defaultValue = "asc") String direction) {
+            @RequestParam(name = "direction", defaultValue = "asc") String direction,WebRequest webRequest) {
 
         String jwt=authHeader.replace("Bearer","");
         Long orgId=jwtUtils.extractOrganizationId(jwt);   
+        String etag=ticketVersions.etag(orgId,"");
+        if(etag!=null && webRequest.checkNotModified(etag)){
+            return null;
+        }
         List<TicketResponseDTO> response = ticketService.sortTicketByPriority(direction,orgId);
-        return ResponseEntity.ok(ApiWrapper.success(response, HttpStatus.OK));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiWrapper.success(response, HttpStatus.OK));
     }
 
     @GetMapping("{ticketId}")
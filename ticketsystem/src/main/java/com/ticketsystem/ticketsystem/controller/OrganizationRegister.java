@@ -1,18 +1,29 @@
 package com.ticketsystem.ticketsystem.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.dto.BulkProvisionResponse;
 import com.ticketsystem.ticketsystem.dto.OrganizationResponseDTO;
+import com.ticketsystem.ticketsystem.dto.SeatUsageResponse;
+import com.ticketsystem.ticketsystem.dto.UserProvisionRequest;
 import com.ticketsystem.ticketsystem.entity.Organization;
 import com.ticketsystem.ticketsystem.enums.OrgPlans;
 import com.ticketsystem.ticketsystem.service.BillingService;
 import com.ticketsystem.ticketsystem.service.OrganizationService;
+import com.ticketsystem.ticketsystem.service.UserProvisioningService;
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
 
 import jakarta.validation.Valid;
 
@@ -22,10 +33,14 @@ public class OrganizationRegister {
     
     private final OrganizationService orgService;
     private final BillingService billingService;
+    private final JwtUtils jwtUtils;
+    private final UserProvisioningService provisioningService;
 
-    public OrganizationRegister(OrganizationService orgService,BillingService billingService ){
+    public OrganizationRegister(OrganizationService orgService,BillingService billingService,JwtUtils jwtUtils,UserProvisioningService provisioningService ){
         this.orgService=orgService;
         this.billingService=billingService;
+        this.jwtUtils=jwtUtils;
+        this.provisioningService=provisioningService;
     }
 
     @PostMapping("/create-organization")
@@ -38,4 +53,30 @@ public class OrganizationRegister {
         return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.CREATED));
     }
 
+    @GetMapping("/seats")
+    public ResponseEntity<ApiWrapper<?>> getSeatUsageController(@RequestHeader("Authorization") String authHeader){
+        String jwt=authHeader.replace("Bearer","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        SeatUsageResponse response=orgService.getSeatUsageService(orgId);
+        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
+    }
+
+    @PostMapping(value="/users/bulk",consumes=MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiWrapper<?>> bulkProvisionController(@RequestHeader("Authorization") String authHeader,@RequestBody List<UserProvisionRequest> users){
+        String jwt=authHeader.replace("Bearer","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        BulkProvisionResponse response=provisioningService.provisionUsersService(orgId,users);
+        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.CREATED));
+    }
+
+    @PostMapping(value="/users/bulk",consumes="text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiWrapper<?>> bulkProvisionCsvController(@RequestHeader("Authorization") String authHeader,@RequestBody String csv){
+        String jwt=authHeader.replace("Bearer","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        BulkProvisionResponse response=provisioningService.provisionUsersService(orgId,UserProvisioningService.parseCsv(csv));
+        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.CREATED));
+    }
+
 }
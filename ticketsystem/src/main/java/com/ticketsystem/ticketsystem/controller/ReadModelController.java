@@ -0,0 +1,46 @@
+package com.ticketsystem.ticketsystem.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.dto.ReadModelCheckResponse;
+import com.ticketsystem.ticketsystem.service.TicketReadModel;
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
+
+@RestController
+@RequestMapping("/readmodel")
+public class ReadModelController {
+
+    private final TicketReadModel readModel;
+    private final JwtUtils jwtUtils;
+
+    public ReadModelController(TicketReadModel readModel,JwtUtils jwtUtils){
+        this.readModel=readModel;
+        this.jwtUtils=jwtUtils;
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiWrapper<?>> rebuildController(@RequestHeader("Authorization") String authHeader){
+        String jwt=authHeader.replace("Bearer ","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        int count=readModel.rebuild(orgId);
+        return ResponseEntity.ok(ApiWrapper.success("Read model rebuilt with "+count+" tickets",HttpStatus.OK));
+    }
+
+    @GetMapping("/check")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiWrapper<?>> checkController(@RequestHeader("Authorization") String authHeader){
+        String jwt=authHeader.replace("Bearer ","");
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        ReadModelCheckResponse response=readModel.check(orgId);
+        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
+    }
+}
@@ -1,5 +1,6 @@
 package com.ticketsystem.ticketsystem.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -19,14 +20,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
 import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
 import com.ticketsystem.ticketsystem.entity.Ticket;
 import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.Role;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 import com.ticketsystem.ticketsystem.service.TicketService;
+import com.ticketsystem.ticketsystem.service.TicketVersionService;
 import com.ticketsystem.ticketsystem.service.UserService;
 import com.ticketsystem.ticketsystem.utils.JwtUtils;
 
@@ -41,13 +46,15 @@ public class TicketController {
     private final TicketService ticketService;
     private final UserService userService;
     private final UserRepo userRepo;
+    private final TicketVersionService ticketVersions;
 
 
-    public TicketController(JwtUtils jwtUtils, TicketService ticketService, UserService userService,UserRepo userRepo){
+    public TicketController(JwtUtils jwtUtils, TicketService ticketService, UserService userService,UserRepo userRepo,TicketVersionService ticketVersions){
         this.jwtUtils=jwtUtils;
         this.ticketService=ticketService;
         this.userService=userService;
         this.userRepo=userRepo;
+        this.ticketVersions=ticketVersions;
     }
 
     @CacheEvict(value = "allTickets", allEntries = true)
@@ -95,7 +102,28 @@ public class TicketController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiWrapper.error(HttpStatus.UNAUTHORIZED,"Not valid user","UnAuthorized"));
       }
       Long assignedToId=Long.valueOf(request.get("assignedToId").toString());
-      String response=ticketService.assignTicketService(ticketId,Long.valueOf(userId),assignedToId);
+      // The ticket version the manager was looking at; a stale one gets 409
+      Long version=request.get("version")!=null ? Long.valueOf(request.get("version").toString()) : null;
+      String response=ticketService.assignTicketService(ticketId,orgId,Long.valueOf(userId),assignedToId,version);
+      return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
+   
+    }
+
+    // Body: {"status":"INPROGRESS","version":3}. Managers may move any ticket in their org, developers only their own
+    @PostMapping("/{ticketId}/status")
+    @PreAuthorize("hasAnyRole('MANAGER','DEVELOPER')")
+    public ResponseEntity<ApiWrapper<?>> changeStatusController(@RequestHeader("Authorization")String authHeader ,@PathVariable("ticketId")Long ticketId ,@RequestBody Map<String, Object> request){
+
+      String jwt=authHeader.replace("Bearer","");
+      String userId=jwtUtils.extractUserId(jwt);
+      Users user=userRepo.findById(Long.valueOf(userId)).orElseThrow(()->new IllegalArgumentException("No such Users"));
+      Long orgId=user.getOrganization().getId();
+      if(!jwtUtils.isTokenValid(jwt, userId, user.getRole().name(),orgId )){
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiWrapper.error(HttpStatus.UNAUTHORIZED,"Not valid user","UnAuthorized"));
+      }
+      String status=request.get("status")!=null ? request.get("status").toString() : null;
+      Long version=request.get("version")!=null ? Long.valueOf(request.get("version").toString()) : null;
+      String response=ticketService.changeStatusService(ticketId,orgId,user,status,version);
       return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
    
     }
@@ -111,24 +139,25 @@ public class TicketController {
             throw new IllegalArgumentException("InValid User or Organization");
         }
 
-        Optional<List<Users>> getDevelopers=userService.getDevelopersService(role,orgId);
-        if(getDevelopers.isEmpty()){
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiWrapper.error(HttpStatus.NOT_FOUND,"No Such Developers","NOT FOUND"));
-        }
-
+        List<DeveloperRosterEntry> getDevelopers=userService.getDevelopersService(Role.valueOf(role.toUpperCase()),orgId);
        return ResponseEntity.status(HttpStatus.OK).body(ApiWrapper.success(getDevelopers,HttpStatus.OK));
 
     }
 
     @GetMapping("/overdues")
-    public ResponseEntity<ApiWrapper<?>> getOverDuesController(@RequestHeader("Authorization") String authHeader){
+    public ResponseEntity<ApiWrapper<?>> getOverDuesController(@RequestHeader("Authorization") String authHeader,WebRequest webRequest){
      
         String jwt=authHeader.replace("Bearer","");
         Long orgId=jwtUtils.extractOrganizationId(jwt);
 
+        // Tickets also become overdue at midnight without any write, so the day is part of the ETag
+        String etag=ticketVersions.etag(orgId,"-"+LocalDate.now());
+        if(etag!=null && webRequest.checkNotModified(etag)){
+            return null;
+        }
         List<TicketResponseDTO> response=ticketService.getOverDuesController(orgId);
 
-        return ResponseEntity.ok(ApiWrapper.success(response,HttpStatus.OK));
+        return ResponseEntity.ok().cacheControl(ManageTicketsController.REVALIDATE).body(ApiWrapper.success(response,HttpStatus.OK));
         
     }
 }
@@ -0,0 +1,50 @@
+package com.ticketsystem.ticketsystem.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ticketsystem.ticketsystem.dto.ApiWrapper;
+import com.ticketsystem.ticketsystem.service.TicketStreamHub;
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
+
+@RestController
+@RequestMapping("/ticket")
+public class TicketStreamController {
+
+    private final TicketStreamHub hub;
+    private final JwtUtils jwtUtils;
+
+    public TicketStreamController(TicketStreamHub hub,JwtUtils jwtUtils){
+        this.hub=hub;
+        this.jwtUtils=jwtUtils;
+    }
+
+    // For browsers: EventSource cannot set headers, so it opens /stream?stream_token= with this instead of the login JWT.
+    // The token expires after app.stream.token-ttl-ms; fetch a new one before reconnecting
+    @PostMapping("/stream-token")
+    public ResponseEntity<ApiWrapper<?>> streamTokenController(@RequestHeader("Authorization") String authHeader){
+        String jwt=authHeader.replace("Bearer ","");
+        String token=jwtUtils.generateStreamToken(jwtUtils.extractUserId(jwt),jwtUtils.extractRole(jwt),jwtUtils.extractOrganizationId(jwt));
+        return ResponseEntity.ok(ApiWrapper.success(token,HttpStatus.OK));
+    }
+
+    // Authorization header, or ?stream_token= from POST /ticket/stream-token (see JwtFilter)
+    @GetMapping(value="/stream",produces=MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamController(@RequestHeader(value="Authorization",required=false) String authHeader,
+            @RequestParam(value="stream_token",required=false) String streamToken,
+            @RequestHeader(value="Last-Event-ID",required=false) String lastEventId,
+            @RequestParam(value="lastEventId",required=false) String resumeToken){
+
+        String jwt=authHeader!=null ? authHeader.replace("Bearer ","") : streamToken;
+        Long orgId=jwtUtils.extractOrganizationId(jwt);
+        return hub.subscribe(orgId,lastEventId!=null ? lastEventId : resumeToken);
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkProvisionResponse {
+    private int created;
+    private List<String> skipped; // "email: reason"
+}
@@ -0,0 +1,15 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentPageResponse {
+    private List<CommentResponse> comments; // newest first
+    private Long nextCursor;                // pass as ?cursor= for older comments, null when done
+}
@@ -0,0 +1,18 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentResponse {
+    private Long id;
+    private String comment;
+    private Long authorId;
+    private String authorName;
+    private LocalDateTime lastUpdated;
+}
@@ -0,0 +1,19 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.io.Serializable;
+
+import com.ticketsystem.ticketsystem.enums.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeveloperRosterEntry implements Serializable {
+    private Long id;
+    private String name;
+    private Role role;
+    private long openTickets;
+}
@@ -0,0 +1,30 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.io.Serializable;
+
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrgMetadata implements Serializable {
+    private Long orgId;
+    private String orgName;
+    private OrgPlans plan;
+
+    public int getSeatLimit(){
+        return plan.getSeatLimit();
+    }
+
+    public int getMaxPhotosPerTicket(){
+        return plan.getMaxPhotosPerTicket();
+    }
+
+    public boolean hasAiAssistant(){
+        return plan.hasAiAssistant();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadModelCheckResponse {
+    private Long orgId;
+    private int databaseCount;
+    private int readModelCount;
+    private List<Long> missing;   // in Postgres, not in Redis
+    private List<Long> stale;     // in both, but fields differ
+    private List<Long> extra;     // in Redis only
+    private boolean consistent;
+}
@@ -0,0 +1,19 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.io.Serializable;
+
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatUsageResponse implements Serializable {
+    private Long orgId;
+    private OrgPlans plan;
+    private int usedSeats;
+    private int seatLimit;
+}
@@ -26,6 +26,11 @@ public class SingleTicketResponse {
     private LocalDateTime dueDate;
     private List<String> photoPath;
     private String  assignedByName;
-    private List<String> comments;
+    private List<String> comments;      // newest page, oldest first
+    private int commentCount;
+    private LocalDateTime lastCommentedAt;
+    private Long commentsCursor;        // GET /ticket/{id}/comments?cursor= for older comments
+    private long version;               // send back with POST /ticket/{id}/assign and /status
+    private List<String> statusMoves;   // statuses POST /ticket/{id}/status accepts from the current one
 
 }
@@ -0,0 +1,92 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.ticketsystem.ticketsystem.enums.TicketEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ticket domain event published on the ticket-events topic, keyed by org id.
+ *
+ * Binary layout (v1): version:u8, type:u8, orgId:i64, ticketId:i64, actorId:i64,
+ * occurredAt:i64 (epoch ms), then status, assigneeId and commentId, each prefixed by a
+ * presence byte. Readers must reject versions they do not know.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketEvent {
+
+    public static final byte SCHEMA_VERSION=1;
+
+    private TicketEventType type;
+    private Long orgId;
+    private Long ticketId;
+    private Long actorId;
+    private long occurredAt;
+    private String status;
+    private Long assigneeId;
+    private Long commentId;
+
+    public byte[] encode(){
+        ByteArrayOutputStream bytes=new ByteArrayOutputStream(64);
+        try(DataOutputStream out=new DataOutputStream(bytes)){
+            out.writeByte(SCHEMA_VERSION);
+            out.writeByte(type.ordinal());
+            out.writeLong(orgId);
+            out.writeLong(ticketId);
+            out.writeLong(actorId!=null ? actorId : -1L);
+            out.writeLong(occurredAt);
+            writeOptional(out,status);
+            writeOptional(out,assigneeId);
+            writeOptional(out,commentId);
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TicketEvent decode(byte[] payload){
+        try(DataInputStream in=new DataInputStream(new ByteArrayInputStream(payload))){
+            byte version=in.readByte();
+            if(version!=SCHEMA_VERSION){
+                throw new IllegalArgumentException("Unsupported ticket event version "+version);
+            }
+            TicketEvent event=new TicketEvent();
+            event.setType(TicketEventType.values()[in.readUnsignedByte()]);
+            event.setOrgId(in.readLong());
+            event.setTicketId(in.readLong());
+            long actorId=in.readLong();
+            event.setActorId(actorId<0 ? null : actorId);
+            event.setOccurredAt(in.readLong());
+            event.setStatus(in.readBoolean() ? in.readUTF() : null);
+            event.setAssigneeId(in.readBoolean() ? in.readLong() : null);
+            event.setCommentId(in.readBoolean() ? in.readLong() : null);
+            return event;
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeOptional(DataOutputStream out,String value) throws IOException{
+        out.writeBoolean(value!=null);
+        if(value!=null){
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeOptional(DataOutputStream out,Long value) throws IOException{
+        out.writeBoolean(value!=null);
+        if(value!=null){
+            out.writeLong(value);
+        }
+    }
+}
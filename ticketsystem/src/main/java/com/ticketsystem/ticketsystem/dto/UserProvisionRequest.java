@@ -0,0 +1,17 @@
+package com.ticketsystem.ticketsystem.dto;
+
+import com.ticketsystem.ticketsystem.enums.Role;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserProvisionRequest {
+    private String name;
+    private String email;
+    private String password;
+    private Role role;
+}
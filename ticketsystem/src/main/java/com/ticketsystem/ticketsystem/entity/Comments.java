@@ -3,34 +3,45 @@ package com.ticketsystem.ticketsystem.entity;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 
-@Table(name="comments")
+@Table(name="comments",indexes=@Index(name="idx_comments_ticket_updated",columnList="ticket_id,last_updated,id"))
 public class Comments {
     
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy=GenerationType.SEQUENCE,generator="comments_seq")
+    @SequenceGenerator(name="comments_seq",sequenceName="comments_seq",allocationSize=50)
     private Long id;
 
-    @ManyToOne
+    // Lazy: writes attach references and reads project CommentResponse, so neither loads these rows
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="ticket_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Ticket ticket;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Users commentedBy;
 
     private String comment;
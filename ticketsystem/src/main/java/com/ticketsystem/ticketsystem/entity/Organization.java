@@ -2,8 +2,13 @@ package com.ticketsystem.ticketsystem.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.ticketsystem.ticketsystem.enums.OrgPlans;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -20,6 +25,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name="organization")
+@Cacheable
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE,region="organization")
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -62,4 +69,9 @@ public class Organization {
     @Column(name="created_at")
     private LocalDateTime createdAt;
 
+    // Users in the organization; only changed through OrganizationRepo.reserveSeats
+    @ColumnDefault("0")
+    @Column(name="seat_count",nullable=false)
+    private int seatCount;
+
 }
@@ -0,0 +1,58 @@
+package com.ticketsystem.ticketsystem.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name="outbox_event",indexes=@Index(name="idx_outbox_unpublished",columnList="published_at,id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    private Long id;
+
+    // Organization the event belongs to; events of one org are relayed in id order
+    @Column(name="org_id",nullable=false)
+    private Long orgId;
+
+    @Column(nullable=false)
+    private String topic;
+
+    @Column(name="event_key")
+    private String eventKey;
+
+    @Column(nullable=false)
+    private byte[] payload;
+
+    private int attempts;
+
+    @Column(name="last_error",columnDefinition="TEXT")
+    private String lastError;
+
+    @Column(name="created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name="published_at")
+    private LocalDateTime publishedAt;
+
+    // Set while a relay is sending the event; another relay may take it over once this has passed
+    @Column(name="claimed_until")
+    private LocalDateTime claimedUntil;
+
+    // Set when the event ran out of attempts; it is never relayed again
+    @Column(name="failed_at")
+    private LocalDateTime failedAt;
+}
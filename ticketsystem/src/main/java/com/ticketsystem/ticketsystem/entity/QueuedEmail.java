@@ -0,0 +1,56 @@
+package com.ticketsystem.ticketsystem.entity;
+
+import java.time.LocalDateTime;
+
+import com.ticketsystem.ticketsystem.enums.EmailStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name="email_queue",indexes=@Index(name="idx_email_queue_pending",columnList="status,next_attempt_at"))
+public class QueuedEmail {
+
+    @Id
+    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable=false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition="TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable=false)
+    private EmailStatus status;
+
+    private int attempts;
+
+    @Column(name="next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name="last_error")
+    private String lastError;
+
+    @Column(name="created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name="sent_at")
+    private LocalDateTime sentAt;
+}
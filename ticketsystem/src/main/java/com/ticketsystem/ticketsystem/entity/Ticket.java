@@ -7,32 +7,57 @@ import com.ticketsystem.ticketsystem.dto.UserDTO;
 import com.ticketsystem.ticketsystem.enums.Priority;
 import com.ticketsystem.ticketsystem.enums.TicketStatus;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import io.micrometer.common.lang.Nullable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+// Associations are lazy; each read path names the graph it needs (see TicketRepository)
+@NamedEntityGraph(name=Ticket.LIST_GRAPH,attributeNodes={@NamedAttributeNode("organization"),@NamedAttributeNode("client"),
+        @NamedAttributeNode("assignedTo"),@NamedAttributeNode("assignedBy")})
+@NamedEntityGraph(name=Ticket.DETAIL_GRAPH,attributeNodes={@NamedAttributeNode("client"),@NamedAttributeNode("assignedTo"),
+        @NamedAttributeNode("assignedBy")})
 public class Ticket {
+
+    // Everything TicketMapper reads: org and user names
+    public static final String LIST_GRAPH="Ticket.list";
+    // GET /ticket/{id}: the people on the ticket, not the org
+    public static final String DETAIL_GRAPH="Ticket.detail";
     
+    // Pooled sequence: one nextval per 50 ids, so bulk inserts can be JDBC-batched (see JdbcBatchConfig)
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy=GenerationType.SEQUENCE,generator="ticket_seq")
+    @SequenceGenerator(name="ticket_seq",sequenceName="ticket_seq",allocationSize=50)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="org_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Organization organization;
 
     @Column(nullable=false)
@@ -40,20 +65,28 @@ public class Ticket {
 
     private String description;
 
+    // Stored by name, the same values as the old free-text column; changes go through TicketStatus.canMoveTo
+    @Enumerated(EnumType.STRING)
     @Column(nullable=false)
-    private String status; // OPEN, ASSIGNED, RESOLVED
+    private TicketStatus status;
     
     @Enumerated(EnumType.STRING)
     private Priority priority;
     
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Users client;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Users assignedTo;
 
-    @ManyToOne
+    @ManyToOne(fetch=FetchType.LAZY)
     @JoinColumn(name="assigned_by")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Users assignedBy;
 
     private LocalDateTime createdAt;
@@ -61,7 +94,26 @@ public class Ticket {
     @Column(name="due_date")
     private LocalDateTime dueDate;
 
-    private List<String> photoPath; // Path or URL to the uploaded photo (optional)
+    // URLs of the uploaded photos as a JSON array (jsonb on Postgres), read in the same row as the ticket.
+    // Replaces the implicit photo_path varchar(255)[] column; DataBackfill copies old rows over
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name="photo_paths")
+    private List<String> photoPath;
+
+    // Maintained by CommentService so the detail view does not have to count comments
+    @ColumnDefault("0")
+    @Column(name="comment_count",nullable=false)
+    private int commentCount;
+
+    @Column(name="last_commented_at")
+    private LocalDateTime lastCommentedAt;
+
+    // Optimistic lock for state transitions. Entity updates check it; TicketRepository.assign and changeStatus bump it
+    // itself, and clients send back the version they read to fail with 409 instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable=false)
+    private long version;
 
 
 }
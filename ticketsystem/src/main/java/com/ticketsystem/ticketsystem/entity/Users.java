@@ -2,8 +2,14 @@ package com.ticketsystem.ticketsystem.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.ticketsystem.ticketsystem.enums.Role;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -27,6 +33,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Table(name="users",uniqueConstraints=@UniqueConstraint(columnNames={"org_id","email"}))
+@Cacheable
+@Cache(usage=CacheConcurrencyStrategy.READ_WRITE,region="users")
+@NaturalIdCache(region="users-by-email")
 public class Users {
     @Id
     @GeneratedValue(strategy=GenerationType.IDENTITY)
@@ -39,6 +48,8 @@ public class Users {
     @NotBlank(message = "Name is required")
     private String name;
     
+    // Login key, so unique across organizations; the natural id adds that unique key to the schema
+    @NaturalId
     @Email(message = "Invalid email")
     @Column(nullable = false)
     private String email;
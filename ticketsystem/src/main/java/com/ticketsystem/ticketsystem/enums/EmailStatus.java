@@ -0,0 +1,5 @@
+package com.ticketsystem.ticketsystem.enums;
+
+public enum EmailStatus {
+    PENDING, SENT, FAILED
+}
@@ -1,5 +1,28 @@
 package com.ticketsystem.ticketsystem.enums;
 
 public enum OrgPlans {
-    BASE,PREMIUM
+    // BASE: the admin account created with the organization plus 10 registered users
+    BASE(11,2,false),PREMIUM(Integer.MAX_VALUE,7,true);
+
+    private final int seatLimit;
+    private final int maxPhotosPerTicket;
+    private final boolean aiAssistant;
+
+    OrgPlans(int seatLimit,int maxPhotosPerTicket,boolean aiAssistant){
+        this.seatLimit=seatLimit;
+        this.maxPhotosPerTicket=maxPhotosPerTicket;
+        this.aiAssistant=aiAssistant;
+    }
+
+    public int getSeatLimit(){
+        return seatLimit;
+    }
+
+    public int getMaxPhotosPerTicket(){
+        return maxPhotosPerTicket;
+    }
+
+    public boolean hasAiAssistant(){
+        return aiAssistant;
+    }
 }
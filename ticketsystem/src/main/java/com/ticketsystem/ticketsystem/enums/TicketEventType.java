@@ -0,0 +1,6 @@
+package com.ticketsystem.ticketsystem.enums;
+
+// Wire ids are fixed; append new types at the end
+public enum TicketEventType {
+    CREATED, ASSIGNED, STATUS_CHANGED, COMMENTED
+}
@@ -1,6 +1,29 @@
 package com.ticketsystem.ticketsystem.enums;
 
+import java.util.Arrays;
+import java.util.List;
 
+// Ticket lifecycle. New tickets start OPEN; every later change has to be a move canMoveTo allows
 public enum TicketStatus {
-    OPEN, ASSIGNED, RESOLVED ,INPROGRESS,REOPENED,CLOSED
+    OPEN, ASSIGNED, RESOLVED ,INPROGRESS,REOPENED,CLOSED;
+
+    public boolean canMoveTo(TicketStatus next){
+        return switch(this){
+            case OPEN -> next==ASSIGNED || next==CLOSED;
+            // Reassigning a ticket that is being worked on is allowed
+            case ASSIGNED, INPROGRESS, REOPENED -> next==ASSIGNED || next==INPROGRESS || next==RESOLVED || next==CLOSED;
+            case RESOLVED -> next==REOPENED || next==CLOSED;
+            case CLOSED -> next==REOPENED;
+        };
+    }
+
+    // Where POST /ticket/{id}/status can take a ticket from here; ASSIGNED goes through the assign endpoint
+    public List<TicketStatus> statusMoves(){
+        return Arrays.stream(values()).filter(next->next!=ASSIGNED && canMoveTo(next)).toList();
+    }
+
+    // The statuses a ticket may be in for a move to next, for the WHERE of a conditional update
+    public static List<TicketStatus> sourcesOf(TicketStatus next){
+        return Arrays.stream(values()).filter(status->status.canMoveTo(next)).toList();
+    }
 }
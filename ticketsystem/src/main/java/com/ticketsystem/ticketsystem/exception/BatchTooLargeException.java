@@ -0,0 +1,8 @@
+package com.ticketsystem.ticketsystem.exception;
+
+// A batch request over its configured maximum size
+public class BatchTooLargeException extends RuntimeException{
+    public BatchTooLargeException(String msg){
+        super(msg);
+    }
+}
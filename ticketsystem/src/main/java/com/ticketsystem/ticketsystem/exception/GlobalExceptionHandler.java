@@ -1,6 +1,7 @@
 package com.ticketsystem.ticketsystem.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -40,6 +41,33 @@ public class GlobalExceptionHandler {
    ApiError error=new ApiError(HttpStatus.NOT_FOUND,"No such Ticket" , e.getMessage());
    return ResponseEntity.ok(error);
     }
+
+    @ExceptionHandler(InvalidStatusException.class)
+    public ResponseEntity<ApiError> handleInvalidStatus(InvalidStatusException e){
+   ApiError error=new ApiError(HttpStatus.BAD_REQUEST,"Invalid status" , e.getMessage());
+   return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidPriorityException.class)
+    public ResponseEntity<ApiError> handleInvalidPriority(InvalidPriorityException e){
+   ApiError error=new ApiError(HttpStatus.BAD_REQUEST,"Invalid priority" , e.getMessage());
+   return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiError> handleBatchTooLarge(BatchTooLargeException e){
+   ApiError error=new ApiError(HttpStatus.BAD_REQUEST,"Batch too large" , e.getMessage());
+   return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // A real 409 rather than the 200 envelope, so clients can tell "reload and retry" from a failure.
+    // Also covers a stale @Version on an entity save
+    @ExceptionHandler({TicketConflictException.class,ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ApiError> handleTicketConflict(RuntimeException e){
+   ApiError error=new ApiError(HttpStatus.CONFLICT,"Ticket was changed" , e.getMessage());
+   return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGlobalException(Exception e){
            ApiError error=new ApiError(HttpStatus.INTERNAL_SERVER_ERROR,"Internal Server Error!" , e.getMessage());
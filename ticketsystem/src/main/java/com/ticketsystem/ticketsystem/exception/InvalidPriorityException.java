@@ -0,0 +1,8 @@
+package com.ticketsystem.ticketsystem.exception;
+
+// A priority in a request that is not a Priority name
+public class InvalidPriorityException extends RuntimeException{
+    public InvalidPriorityException(String msg){
+        super(msg);
+    }
+}
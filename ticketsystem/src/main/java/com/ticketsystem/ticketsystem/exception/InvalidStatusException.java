@@ -0,0 +1,8 @@
+package com.ticketsystem.ticketsystem.exception;
+
+// A status in a request that is not a TicketStatus name
+public class InvalidStatusException extends RuntimeException{
+    public InvalidStatusException(String msg){
+        super(msg);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ticketsystem.ticketsystem.exception;
+
+// A ticket change lost to a concurrent one, or the ticket's status does not allow it
+public class TicketConflictException extends RuntimeException{
+    public TicketConflictException(String msg){
+        super(msg);
+    }
+}
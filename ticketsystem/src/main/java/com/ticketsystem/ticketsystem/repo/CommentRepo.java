@@ -1,17 +1,29 @@
 package com.ticketsystem.ticketsystem.repo;
 
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ticketsystem.ticketsystem.dto.CommentResponse;
 import com.ticketsystem.ticketsystem.entity.Comments;
 
 @Repository
 public interface CommentRepo extends JpaRepository<Comments,Long> {
-    @Query(value="SELECT * FROM comments WHERE ticket_id =:ticketId",nativeQuery=true)
-    Optional<List<Comments>> findByTicketId(Long ticketId);
+    // Keyset pages, newest first, with the author name joined in the same statement. Ordered by time, not id:
+    // comments_seq hands each node its own block of ids, so ids from different nodes do not follow insert order
+    @Query("SELECT new com.ticketsystem.ticketsystem.dto.CommentResponse(c.id, c.comment, u.id, u.name, c.lastUpdated) " +
+            "FROM Comments c LEFT JOIN c.commentedBy u WHERE c.ticket.id = :ticketId ORDER BY c.lastUpdated DESC, c.id DESC")
+    List<CommentResponse> findLatestPage(@Param("ticketId") Long ticketId,Pageable page);
+
+    // The cursor is the id of the last comment on the previous page; its (lastUpdated, id) is the key to continue from
+    @Query("SELECT new com.ticketsystem.ticketsystem.dto.CommentResponse(c.id, c.comment, u.id, u.name, c.lastUpdated) " +
+            "FROM Comments k, Comments c LEFT JOIN c.commentedBy u WHERE k.id = :cursor AND c.ticket.id = :ticketId " +
+            "AND (c.lastUpdated < k.lastUpdated OR (c.lastUpdated = k.lastUpdated AND c.id < k.id)) " +
+            "ORDER BY c.lastUpdated DESC, c.id DESC")
+    List<CommentResponse> findPageBefore(@Param("ticketId") Long ticketId,@Param("cursor") Long cursor,Pageable page);
 
 }
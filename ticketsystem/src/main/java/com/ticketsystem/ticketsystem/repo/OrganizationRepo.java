@@ -3,17 +3,30 @@ package com.ticketsystem.ticketsystem.repo;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
 
 @Repository
 public interface OrganizationRepo extends JpaRepository<Organization,Long> {
     Optional<Organization> findByOrgName(String name);
 
-  @Query(value = "SELECT COUNT(*) FROM users u WHERE u.org_id = :id", nativeQuery = true)
-   int countUsersByOrganization(@Param("id") Long id);
+  // A query, not findById: seat_count changes through bulk updates, which other nodes' second-level caches do not see
+  @Query("SELECT o FROM Organization o WHERE o.id = :id")
+  Optional<Organization> findCurrentById(@Param("id") Long id);
+
+  // Takes seats only if the plan allows it; 0 rows means limit reached (or no such org). Row lock serializes concurrent registrations.
+  @Modifying
+  @Query("UPDATE Organization o SET o.seatCount = o.seatCount + :seats " +
+          "WHERE o.id = :id AND (o.orgPlan <> :limitedPlan OR o.seatCount + :seats <= :limit)")
+  int reserveSeats(@Param("id") Long id,@Param("seats") int seats,@Param("limitedPlan") OrgPlans limitedPlan,@Param("limit") int limit);
+
+  @Query(value = "UPDATE organization o SET seat_count = (SELECT COUNT(*) FROM users u WHERE u.org_id = o.id)", nativeQuery = true)
+  @Modifying
+  int backfillSeatCounts();
 
 }
@@ -0,0 +1,47 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ticketsystem.ticketsystem.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent,Long> {
+
+    // Serializes claiming across nodes; released when the claim transaction commits
+    @Query(value="SELECT pg_try_advisory_xact_lock(:lockKey)",nativeQuery=true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    // Only one batch may be in flight at a time so per-org ordering is kept across nodes
+    @Query(value="SELECT COUNT(*) > 0 FROM outbox_event WHERE published_at IS NULL AND claimed_until > :now",nativeQuery=true)
+    boolean hasClaimedEvents(@Param("now") LocalDateTime now);
+
+    @Query(value="SELECT * FROM outbox_event WHERE published_at IS NULL AND failed_at IS NULL ORDER BY id LIMIT :limit",nativeQuery=true)
+    List<OutboxEvent> findUnpublishedBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,@Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :now, e.lastError = NULL WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids,@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.lastError = :lastError, e.failedAt = :failedAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id,@Param("attempts") int attempts,@Param("lastError") String lastError,@Param("failedAt") LocalDateTime failedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Query(value="SELECT MIN(created_at) FROM outbox_event WHERE published_at IS NULL AND failed_at IS NULL",nativeQuery=true)
+    LocalDateTime findOldestUnpublished();
+}
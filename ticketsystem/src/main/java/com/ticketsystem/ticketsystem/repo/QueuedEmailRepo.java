@@ -0,0 +1,23 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ticketsystem.ticketsystem.entity.QueuedEmail;
+import com.ticketsystem.ticketsystem.enums.EmailStatus;
+
+@Repository
+public interface QueuedEmailRepo extends JpaRepository<QueuedEmail,Long> {
+
+    // SKIP LOCKED lets several dispatcher workers (or nodes) drain the queue without picking the same rows
+    @Query(value="SELECT * FROM email_queue WHERE status='PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",nativeQuery=true)
+    List<QueuedEmail> claimPendingBatch(@Param("now") LocalDateTime now,@Param("limit") int limit);
+
+    long countByStatus(EmailStatus status);
+}
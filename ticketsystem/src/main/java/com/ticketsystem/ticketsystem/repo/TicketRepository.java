@@ -1,36 +1,105 @@
 package com.ticketsystem.ticketsystem.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    @Query(value = "SELECT * FROM ticket WHERE assigned_to_id IS NULL AND status=:status AND org_id = :orgId", nativeQuery = true)
-    Optional<List<Ticket>> getTicketByAssignToAndStatus(@Param("status") String status,@Param("orgId") Long orgId);
-
-    @Query(value = "SELECT * FROM ticket " +
-            "WHERE (:priority IS NULL OR priority = :priority) " +
-            "AND (:status IS NULL OR status = :status) AND org_id = :orgId", nativeQuery = true)
-    List<Ticket> findAllByFilters(@Param("priority") String priority, @Param("status") String status,@Param("orgId") Long orgId);
-
-    @Query(value = "SELECT * FROM ticket " +
-            " WHERE org_id = :orgId ORDER BY  CASE priority " +
-            "WHEN 'URGENT' THEN 1" +
-            "WHEN 'IMPORTANT' THEN 2" +
-            "WHEN 'MEDIUM' THEN 3" +
-            "WHEN 'LOW' THEN 4 ELSE 5 END ASC ", nativeQuery = true)
+    // List views read the org and user names; Ticket.LIST_GRAPH joins them in, so every list is one query
+    @EntityGraph(Ticket.LIST_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE t.assignedTo IS NULL AND t.status = :status AND t.organization.id = :orgId")
+    Optional<List<Ticket>> getTicketByAssignToAndStatus(@Param("status") TicketStatus status,@Param("orgId") Long orgId);
+
+    @EntityGraph(Ticket.LIST_GRAPH)
+    @Query("SELECT t FROM Ticket t " +
+            "WHERE (:priority IS NULL OR t.priority = :priority) " +
+            "AND (:status IS NULL OR t.status = :status) AND t.organization.id = :orgId")
+    List<Ticket> findAllByFilters(@Param("priority") Priority priority, @Param("status") TicketStatus status,@Param("orgId") Long orgId);
+
+    @EntityGraph(Ticket.LIST_GRAPH)
+    @Query("SELECT t FROM Ticket t " +
+            "WHERE t.organization.id = :orgId ORDER BY CASE t.priority " +
+            "WHEN com.ticketsystem.ticketsystem.enums.Priority.URGENT THEN 1 " +
+            "WHEN com.ticketsystem.ticketsystem.enums.Priority.IMPORTANT THEN 2 " +
+            "WHEN com.ticketsystem.ticketsystem.enums.Priority.MEDIUM THEN 3 " +
+            "WHEN com.ticketsystem.ticketsystem.enums.Priority.LOW THEN 4 ELSE 5 END ASC")
     List<Ticket> sortTicketByPriority(@Param("orgId") Long orgId);
 
-    @Query(value="SELECT * FROM ticket WHERE due_date<CURRENT_DATE AND status!='RESOLVED' AND org_id = :orgId",nativeQuery=true)
-    List<Ticket> findByDues(@Param("orgId") Long orgId);
+    // Due before the start of today (the old due_date < CURRENT_DATE) and not resolved
+    @EntityGraph(Ticket.LIST_GRAPH)
+    @Query("SELECT t FROM Ticket t WHERE t.dueDate < :startOfToday AND t.status <> com.ticketsystem.ticketsystem.enums.TicketStatus.RESOLVED " +
+            "AND t.organization.id = :orgId")
+    List<Ticket> findByDues(@Param("orgId") Long orgId,@Param("startOfToday") LocalDateTime startOfToday);
+
+    // One ticket as the read model projects it
+    @EntityGraph(Ticket.LIST_GRAPH)
+    Optional<Ticket> findListViewById(Long id);
+
+    @EntityGraph(Ticket.DETAIL_GRAPH)
+    Optional<Ticket> findDetailById(Long id);
 
     Optional<Ticket> findByIdAndOrganizationId(Long id, Long orgId);
 
+    boolean existsByIdAndOrganizationId(Long id, Long orgId);
+
+    // Assign as one conditional statement: it only applies while the ticket is in the org, in a status that
+    // may move to ASSIGNED and, when the caller passes one, still at the version it read. Returns 0 otherwise
+    @Modifying
+    @Query("UPDATE Ticket t SET t.assignedTo = :assignedTo, t.assignedBy = :assignedBy, " +
+            "t.status = com.ticketsystem.ticketsystem.enums.TicketStatus.ASSIGNED, t.version = t.version + 1 " +
+            "WHERE t.id = :ticketId AND t.organization.id = :orgId AND t.status IN :from " +
+            "AND (:version IS NULL OR t.version = :version)")
+    int assign(@Param("ticketId") Long ticketId,@Param("orgId") Long orgId,@Param("assignedTo") Users assignedTo,
+            @Param("assignedBy") Users assignedBy,@Param("from") Collection<TicketStatus> from,@Param("version") Long version);
+
+    // Same guard as assign for every other move. A non-null assigneeId also requires the ticket to be assigned to that user
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :next, t.version = t.version + 1 " +
+            "WHERE t.id = :ticketId AND t.organization.id = :orgId AND t.status IN :from " +
+            "AND (:version IS NULL OR t.version = :version) AND (:assigneeId IS NULL OR t.assignedTo.id = :assigneeId)")
+    int changeStatus(@Param("ticketId") Long ticketId,@Param("orgId") Long orgId,@Param("next") TicketStatus next,
+            @Param("from") Collection<TicketStatus> from,@Param("version") Long version,@Param("assigneeId") Long assigneeId);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.commentCount = t.commentCount + :added, t.lastCommentedAt = :at WHERE t.id = :ticketId")
+    int recordComments(@Param("ticketId") Long ticketId,@Param("added") int added,@Param("at") LocalDateTime at);
+
+    // One-off fill of comment_count/last_commented_at for tickets that predate the columns
+    @Modifying
+    @Query(value = "UPDATE ticket t SET comment_count = c.cnt, last_commented_at = c.last_at " +
+            "FROM (SELECT ticket_id, COUNT(*) AS cnt, MAX(last_updated) AS last_at FROM comments GROUP BY ticket_id) c " +
+            "WHERE t.id = c.ticket_id", nativeQuery = true)
+    int backfillCommentStats();
+
+    // One-off cleanup before Ticket.status became an enum: createticket used to store whatever the client sent.
+    // Case, spaces, '-' and '_' are ignored ("in_progress" -> INPROGRESS); anything still unknown becomes OPEN,
+    // or ASSIGNED when the ticket has an assignee
+    @Modifying
+    @Query(value = "UPDATE ticket SET status = CASE " +
+            "WHEN UPPER(REPLACE(REPLACE(REPLACE(TRIM(status), '_', ''), '-', ''), ' ', '')) IN (:known) " +
+            "THEN UPPER(REPLACE(REPLACE(REPLACE(TRIM(status), '_', ''), '-', ''), ' ', '')) " +
+            "WHEN assigned_to_id IS NULL THEN 'OPEN' ELSE 'ASSIGNED' END " +
+            "WHERE status IS NULL OR status NOT IN (:known)", nativeQuery = true)
+    int normalizeStatuses(@Param("known") Collection<String> known);
+
+    // One-off copy of the old photo_path varchar[] column into photo_paths (jsonb); Postgres only, see PhotoPathsBackfillTest
+    @Modifying
+    @Query(value = "UPDATE ticket SET photo_paths = to_jsonb(photo_path) " +
+            "WHERE photo_paths IS NULL AND photo_path IS NOT NULL", nativeQuery = true)
+    int backfillPhotoPaths();
+
 }
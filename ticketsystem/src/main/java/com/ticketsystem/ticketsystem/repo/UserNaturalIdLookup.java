@@ -0,0 +1,10 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import java.util.Optional;
+
+import com.ticketsystem.ticketsystem.entity.Users;
+
+// Lookups by the Users natural id; implemented in UserNaturalIdLookupImpl so they go through the natural-id cache
+public interface UserNaturalIdLookup {
+    Optional<Users> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ticketsystem.ticketsystem.entity.Users;
+
+import jakarta.persistence.EntityManager;
+
+// A derived query would always hit the database; the natural-id load resolves email to id through
+// the users-by-email region and the row through the users region
+class UserNaturalIdLookupImpl implements UserNaturalIdLookup {
+
+    private final EntityManager entityManager;
+
+    UserNaturalIdLookupImpl(EntityManager entityManager){
+        this.entityManager=entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly=true)
+    public Optional<Users> findByEmail(String email){
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Users.class).loadOptional(email);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ticketsystem.ticketsystem.repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,17 +8,22 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
 import com.ticketsystem.ticketsystem.entity.Users;
 import com.ticketsystem.ticketsystem.enums.Role;
 
 @Repository
-public interface UserRepo extends JpaRepository<Users,Long>{
-    Optional<Users> findByEmail(String email);
+public interface UserRepo extends JpaRepository<Users,Long>,UserNaturalIdLookup{
     Optional<Users> findByOrganizationId(Long orgId);
 
-   @Query(
-    value = "SELECT * FROM users WHERE role = :role AND org_id = :orgId",
-    nativeQuery = true
-)
-Optional<List<Users>> findByRole(String role, Long orgId);
+   // Tickets count as open until they are RESOLVED or CLOSED
+   @Query("SELECT new com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry(u.id, u.name, u.role, COUNT(t.id)) " +
+          "FROM Users u LEFT JOIN Ticket t ON t.assignedTo = u " +
+          "AND t.status NOT IN (com.ticketsystem.ticketsystem.enums.TicketStatus.RESOLVED, com.ticketsystem.ticketsystem.enums.TicketStatus.CLOSED) " +
+          "WHERE u.organization.id = :orgId AND u.role = :role " +
+          "GROUP BY u.id, u.name, u.role ORDER BY u.name")
+   List<DeveloperRosterEntry> findRoster(Long orgId, Role role);
+
+   @Query("SELECT u.email FROM Users u WHERE u.email IN :emails")
+   List<String> findExistingEmails(Collection<String> emails);
 }
\ No newline at end of file
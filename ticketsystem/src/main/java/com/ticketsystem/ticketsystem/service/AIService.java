@@ -1,5 +1,6 @@
 package com.ticketsystem.ticketsystem.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -9,14 +10,20 @@ import org.springframework.web.client.RestTemplate;
 import com.ticketsystem.ticketsystem.dto.AiRequest;
 import com.ticketsystem.ticketsystem.dto.AiResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class AIService {
 
     private final RestTemplate template;
-    private final String aiUrl="http://localhost:5000/ask";
+    private final MeterRegistry meterRegistry;
+    private final String aiUrl;
 
-    public AIService(RestTemplate template){
+    public AIService(RestTemplate template,MeterRegistry meterRegistry,@Value("${app.ai.url:http://localhost:5000/ask}") String aiUrl){
         this.template=template;
+        this.meterRegistry=meterRegistry;
+        this.aiUrl=aiUrl;
     }
 
     public AiResponse sendAiPrompt(String question,Long orgId,Long userId,String role){
@@ -25,9 +32,15 @@ public class AIService {
 
         HttpEntity<AiRequest> entity=new HttpEntity<>(request);
         
-        ResponseEntity<AiResponse> response=template.exchange(aiUrl,HttpMethod.POST,entity,AiResponse.class);
-
-        return response.getBody();
+        Timer.Sample sample=Timer.start(meterRegistry);
+        String outcome="failure";
+        try{
+            ResponseEntity<AiResponse> response=template.exchange(aiUrl,HttpMethod.POST,entity,AiResponse.class);
+            outcome="success";
+            return response.getBody();
+        }finally{
+            sample.stop(Timer.builder("ai.request.latency").tag("outcome",outcome).register(meterRegistry));
+        }
     }
 
     
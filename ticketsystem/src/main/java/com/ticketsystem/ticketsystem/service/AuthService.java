@@ -2,14 +2,15 @@ package com.ticketsystem.ticketsystem.service;
 
 import java.time.LocalDateTime;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.ticketsystem.ticketsystem.dto.LoginResponse;
+import com.ticketsystem.ticketsystem.dto.OrgMetadata;
 import com.ticketsystem.ticketsystem.dto.UserLoginRequest;
-import com.ticketsystem.ticketsystem.entity.Organization;
 import com.ticketsystem.ticketsystem.entity.Users;
 import com.ticketsystem.ticketsystem.enums.OrgPlans;
 import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
@@ -25,31 +26,37 @@ public class AuthService {
     private JwtUtils jwtUtils;
     private OrganizationRepo orgRepo;
     private EmailService emailService;
+    private final OrgMetadataService orgMetadata;
+    private final UserService userService;
 
-    public AuthService(UserRepo repo,PasswordEncoder encoder,JwtUtils jwtUtils,OrganizationRepo orgRepo,EmailService emailService){
+    public AuthService(UserRepo repo,PasswordEncoder encoder,JwtUtils jwtUtils,OrganizationRepo orgRepo,EmailService emailService,OrgMetadataService orgMetadata,UserService userService){
         this.repo=repo;
         this.encoder=encoder;
         this.jwtUtils=jwtUtils;
         this.orgRepo=orgRepo;
         this.emailService=emailService;
+        this.orgMetadata=orgMetadata;
+        this.userService=userService;
 
     }
 
     @Transactional
+    @CacheEvict(value="orgSeats",key="#id")
     public String registerUserService(String orgName,Long id,Users request){
-      int count=orgRepo.countUsersByOrganization(id);
-      
-       Organization org=orgRepo.findById(id).orElseThrow(()->new UsernameNotFoundException("No Such Organization"));
+       // Seat is taken with a conditional UPDATE, so concurrent registrations cannot overshoot the plan
+       OrgMetadata org=orgMetadata.get(id);
+       int reserved=orgRepo.reserveSeats(id,1,OrgPlans.BASE,OrgPlans.BASE.getSeatLimit());
        
-       if(org.getOrgPlan()==OrgPlans.BASE && count >10){
+       if(reserved==0){
         throw new RuntimeException("You have reached a maximum limit of User Addition as per your Base Plan");
        }
 
         String hashedPass=encoder.encode(request.getPassword());
         request.setPassword(hashedPass);
         request.setCreatedAt(LocalDateTime.now());
-        request.setOrganization(org);
+        request.setOrganization(orgRepo.getReferenceById(id));
         repo.save(request);
+        userService.evictRosterService(id);
         emailService.sendEmail(request.getEmail(),"Registration Confirmation",
         "Congratulations! "+request.getName()+"\n You have successfully registered for the organization "+org.getOrgName());
         return "User SuccessFully Created";
@@ -61,9 +68,10 @@ public class AuthService {
           if(!encoder.matches(request.getPassword(),user.getPassword())){
             throw new BadCredentialsException("Username and Password dont match");
           }
-          Organization org = orgRepo.findById(user.getOrganization().getId()).orElseThrow();
+          Long orgId=user.getOrganization().getId();
+          OrgMetadata org=orgMetadata.get(orgId);
 
-            String jwt=jwtUtils.generateToken(String.valueOf(user.getId()), user.getRole().name(),user.getOrganization().getId(),String.valueOf(org.getOrgPlan()));
+            String jwt=jwtUtils.generateToken(String.valueOf(user.getId()), user.getRole().name(),orgId,String.valueOf(org.getPlan()));
             LoginResponse response=new LoginResponse(user.getId(),jwt,true);
             return response;
         
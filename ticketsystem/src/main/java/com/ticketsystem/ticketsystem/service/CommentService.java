@@ -1,13 +1,19 @@
 package com.ticketsystem.ticketsystem.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ticketsystem.ticketsystem.dto.CommentPageResponse;
+import com.ticketsystem.ticketsystem.dto.CommentResponse;
 import com.ticketsystem.ticketsystem.entity.Comments;
 import com.ticketsystem.ticketsystem.entity.Ticket;
 import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.exception.BatchTooLargeException;
 import com.ticketsystem.ticketsystem.exception.TicketNotFoundException;
 import com.ticketsystem.ticketsystem.repo.CommentRepo;
 import com.ticketsystem.ticketsystem.repo.TicketRepository;
@@ -19,26 +25,80 @@ public class CommentService {
     private final CommentRepo commentRepo;
     private final TicketRepository ticketRepo;
     private final UserRepo userRepo;
+    private final TicketEventPublisher eventPublisher;
 
-    public CommentService(CommentRepo commentRepo, TicketRepository ticketRepo,UserRepo userRepo){
+    @Value("${app.comments.max-page-size:100}")
+    private int maxPageSize=100;
+
+    // Bounds the transaction behind POST /ticket/{id}/comments: every comment also writes an outbox row
+    @Value("${app.comments.max-batch:100}")
+    private int maxBatch=100;
+
+    public CommentService(CommentRepo commentRepo, TicketRepository ticketRepo,UserRepo userRepo,TicketEventPublisher eventPublisher){
         this.commentRepo=commentRepo;
         this.ticketRepo=ticketRepo;
         this.userRepo=userRepo;
+        this.eventPublisher=eventPublisher;
     }
 
-    public String addCommentService(Long ticketId, Long userId,Comments comment){
-
-        Users user=userRepo.findById(userId).orElseThrow(()-> new UsernameNotFoundException("No such users"));
-        
-        Ticket ticket=ticketRepo.findById(ticketId).orElseThrow(()-> new UsernameNotFoundException("No such Tickets"));
-        comment.setCommentedBy(user);
-        comment.setTicket(ticket);
-        comment.setLastUpdated(LocalDateTime.now());
-        commentRepo.save(comment);
-        
+    /**
+     * Adds one comment. The ticket is checked once against the caller's org; ticket and
+     * author are then attached as references, so no user/ticket rows are loaded.
+     */
+    @Transactional
+    public String addCommentService(Long ticketId, Long userId,Long orgId,Comments comment){
+        addCommentsService(ticketId,userId,orgId,List.of(comment));
         return "Comments Added Successfully";
-        
+    }
+
+    @Transactional
+    public int addCommentsService(Long ticketId,Long userId,Long orgId,List<Comments> comments){
+        if(comments.isEmpty()){
+            return 0;
+        }
+        if(comments.size()>maxBatch){
+            throw new BatchTooLargeException("At most "+maxBatch+" comments per request, got "+comments.size());
+        }
+        if(!ticketRepo.existsByIdAndOrganizationId(ticketId,orgId)){
+            throw new TicketNotFoundException("No such Tickets");
+        }
+        Ticket ticket=ticketRepo.getReferenceById(ticketId);
+        Users user=userRepo.getReferenceById(userId);
+        LocalDateTime now=LocalDateTime.now();
+
+        for(Comments comment:comments){
+            comment.setId(null);
+            comment.setCommentedBy(user);
+            comment.setTicket(ticket);
+            comment.setLastUpdated(now);
+        }
+        commentRepo.saveAll(comments);
+        ticketRepo.recordComments(ticketId,comments.size(),now);
+        for(Comments comment:comments){
+            eventPublisher.commentAdded(orgId,ticketId,userId,comment.getId());
+        }
+        return comments.size();
+    }
+
+    // Read-only: served by a read replica when they are configured
+    @Transactional(readOnly=true)
+    public CommentPageResponse getCommentsService(Long ticketId,Long orgId,Long cursor,int size){
+        if(!ticketRepo.existsByIdAndOrganizationId(ticketId,orgId)){
+            throw new TicketNotFoundException("No such Tickets");
+        }
+        int pageSize=Math.max(1,Math.min(size,maxPageSize));
+        // Fetch one extra row to know whether an older page exists
+        PageRequest page=PageRequest.of(0,pageSize+1);
+        List<CommentResponse> comments=cursor==null
+                ? commentRepo.findLatestPage(ticketId,page)
+                : commentRepo.findPageBefore(ticketId,cursor,page);
 
+        Long nextCursor=null;
+        if(comments.size()>pageSize){
+            comments=comments.subList(0,pageSize);
+            nextCursor=comments.get(pageSize-1).getId();
+        }
+        return new CommentPageResponse(comments,nextCursor);
     }
 
 }
@@ -0,0 +1,65 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+
+// One-off fills for denormalized columns; enable the matching APP_MIGRATIONS_* flag for a single start after deploying
+@Component
+public class DataBackfill implements ApplicationRunner {
+
+    private static final Logger log=LoggerFactory.getLogger(DataBackfill.class);
+
+    private final TicketRepository ticketRepo;
+    private final OrganizationRepo orgRepo;
+
+    @Value("${app.migrations.comment-stats:false}")
+    private boolean commentStats;
+
+    @Value("${app.migrations.seat-count:false}")
+    private boolean seatCount;
+
+    // Leaves photo_path in place; drop it once every node reads photo_paths
+    @Value("${app.migrations.photo-paths:false}")
+    private boolean photoPaths;
+
+    // Run before the first start that maps Ticket.status as TicketStatus: unknown values fail every list they appear in
+    @Value("${app.migrations.ticket-status:false}")
+    private boolean ticketStatus;
+
+    public DataBackfill(TicketRepository ticketRepo,OrganizationRepo orgRepo){
+        this.ticketRepo=ticketRepo;
+        this.orgRepo=orgRepo;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args){
+        if(ticketStatus){
+            int updated=ticketRepo.normalizeStatuses(Arrays.stream(TicketStatus.values()).map(Enum::name).toList());
+            log.info("Normalized status of {} tickets",updated);
+        }
+        if(commentStats){
+            int updated=ticketRepo.backfillCommentStats();
+            log.info("Backfilled comment stats for {} tickets",updated);
+        }
+        if(seatCount){
+            int updated=orgRepo.backfillSeatCounts();
+            log.info("Backfilled seat counts for {} organizations",updated);
+        }
+        if(photoPaths){
+            int updated=ticketRepo.backfillPhotoPaths();
+            log.info("Backfilled photo paths for {} tickets",updated);
+        }
+    }
+}
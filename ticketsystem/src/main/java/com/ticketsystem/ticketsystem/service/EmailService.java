@@ -1,33 +1,46 @@
 package com.ticketsystem.ticketsystem.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
+import com.ticketsystem.ticketsystem.entity.QueuedEmail;
+import com.ticketsystem.ticketsystem.enums.EmailStatus;
+import com.ticketsystem.ticketsystem.repo.QueuedEmailRepo;
+
+/**
+ * Puts outgoing mail on the persistent email_queue. The row is written in the caller's
+ * transaction, so it survives restarts and disappears on rollback; {@link MailDispatcher}
+ * does the actual SMTP work.
+ */
 @Service
-@Async
 public class EmailService {
     
-    private final JavaMailSender mailSender;
+    private final QueuedEmailRepo queueRepo;
 
-    @Value("${app.mail.from}")
-    private  String sendFrom;
-
-    public EmailService(JavaMailSender mailSender){
-        this.mailSender=mailSender;
+    public EmailService(QueuedEmailRepo queueRepo){
+        this.queueRepo=queueRepo;
     }
 
 
     public void sendEmail(String to,String subject , String body){
-        SimpleMailMessage message=new SimpleMailMessage();
+        queueRepo.save(queued(to,subject,body));
+    }
 
-        message.setFrom(sendFrom);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+    // Bulk paths queue everything in one call; delivery rate is bounded by the dispatcher's workers and batch size
+    public void sendEmails(List<QueuedEmail> emails){
+        queueRepo.saveAll(emails);
     }
-}
 
+    public static QueuedEmail queued(String to,String subject,String body){
+        QueuedEmail email=new QueuedEmail();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(EmailStatus.PENDING);
+        email.setCreatedAt(LocalDateTime.now());
+        email.setNextAttemptAt(email.getCreatedAt());
+        return email;
+    }
+}
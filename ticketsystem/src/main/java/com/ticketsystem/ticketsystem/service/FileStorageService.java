@@ -7,14 +7,18 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class FileStorageService {
 
-    private final Path uploadDir = Paths.get(System.getProperty("user.dir"), "uploads");
+    private final Path uploadDir;
     
     @Value("${server.port:8080}")
     private String serverPort;
@@ -22,14 +26,25 @@ public class FileStorageService {
     @Value("${server.servlet.context-path:}")
     private String contextPath;
 
+    private final Timer storeLatency;
+
+    // Relative directories resolve against the working directory, which WebConfig serves /uploads/** from
+    @Autowired
+    public FileStorageService(MeterRegistry meterRegistry, @Value("${app.upload-dir:uploads}") String uploadDir) {
+        this(meterRegistry, Paths.get(System.getProperty("user.dir")).resolve(uploadDir));
+    }
+
+    public FileStorageService(MeterRegistry meterRegistry, Path uploadDir) {
+        this.uploadDir = uploadDir;
+        this.storeLatency = Timer.builder("file.store.latency").description("Time to write one uploaded photo").register(meterRegistry);
+    }
+
     public String storeFiles(MultipartFile file) {
+        Timer.Sample sample = Timer.start();
         try {
             Files.createDirectories(uploadDir);
 
-            // Clean the original filename - replace spaces and special characters
-            String originalName = file.getOriginalFilename();
-            String cleanFileName = originalName.replaceAll("[^a-zA-Z0-9._-]", "_");
-            String fileName = UUID.randomUUID().toString().substring(0, 7) + "-" + cleanFileName;
+            String fileName = UUID.randomUUID().toString().substring(0, 7) + "-" + cleanFileName(file.getOriginalFilename());
             Path filePath = uploadDir.resolve(fileName);
 
             file.transferTo(filePath.toFile());
@@ -43,6 +58,13 @@ public class FileStorageService {
             
         } catch (IOException e) {
             throw new RuntimeException("File storing failed: " + e.getMessage());
+        } finally {
+            sample.stop(storeLatency);
         }
     }
+
+    // Clean the original filename - replace spaces and special characters
+    public static String cleanFileName(String originalName) {
+        return originalName.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ticket and comment ids used to come from identity columns. On a database from that time the
+ * new ticket_seq and comments_seq start at 1, below ids already in use. At startup, once
+ * Hibernate has created the sequences and before the server takes traffic, each sequence that is
+ * behind its table is moved to the table's max id. A sequence that is already ahead is left
+ * alone, so this is a no-op after the first start.
+ *
+ * The upgrade needs a full stop, not a rolling deploy: a node still on the old version inserts
+ * through the identity default, which knows nothing of the ids new nodes take from the sequences,
+ * so the two would hand out the same ids. Stop every old node before the first new one starts.
+ *
+ * Postgres only; other databases (H2 in tests) always start from an empty schema.
+ */
+@Component
+public class IdSequenceAlignment {
+
+    private static final Logger log=LoggerFactory.getLogger(IdSequenceAlignment.class);
+
+    // sequence -> table
+    static final Map<String,String> SEQUENCES=Map.of("ticket_seq","ticket","comments_seq","comments");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory parameter only orders this after Hibernate's schema update
+    public IdSequenceAlignment(JdbcTemplate jdbcTemplate,EntityManagerFactory entityManagerFactory){
+        this.jdbcTemplate=jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align(){
+        if(!isPostgres()){
+            return;
+        }
+        SEQUENCES.forEach((sequence,table)->{
+            // last_value was already handed out once is_called is set; a fresh sequence has given out nothing
+            Long moved=jdbcTemplate.query("SELECT setval('"+sequence+"', m) FROM (SELECT MAX(id) AS m FROM "+table+") t "
+                    +"WHERE m > (SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END FROM "+sequence+")",
+                    rs->rs.next() ? rs.getLong(1) : null);
+            if(moved!=null){
+                log.info("Moved {} past the existing {} ids (now {})",sequence,table,moved);
+            }
+        });
+    }
+
+    private boolean isPostgres(){
+        String product=jdbcTemplate.execute((Connection connection)->connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+}
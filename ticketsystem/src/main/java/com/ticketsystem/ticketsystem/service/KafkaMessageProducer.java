@@ -1,20 +1,32 @@
 package com.ticketsystem.ticketsystem.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class KafkaMessageProducer {
+
+    public static final String ORGANIZATION_TOPIC="organization-events";
     
-    private final KafkaTemplate<String,String> kafkaTemplate;
+    private final KafkaTemplate<String,byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public KafkaMessageProducer(KafkaTemplate<String,String> kafkaTemplate){
+    public KafkaMessageProducer(KafkaTemplate<String,byte[]> kafkaTemplate,MeterRegistry meterRegistry){
         this.kafkaTemplate=kafkaTemplate;
+        this.meterRegistry=meterRegistry;
     }
 
-    public void sendMessage(Long orgId){
-        String topic="organization-events";
-        kafkaTemplate.send(topic,orgId.toString());
-         System.out.println("Sent OrgCreated event for orgId=" + orgId);
+    // Latency is measured until the broker acknowledges (acks=all), including time spent lingering in a batch
+    public CompletableFuture<SendResult<String,byte[]>> send(String topic,String key,byte[] payload){
+        Timer.Sample sample=Timer.start(meterRegistry);
+        return kafkaTemplate.send(topic,key,payload).whenComplete((result,error)->
+                sample.stop(Timer.builder("kafka.send.latency").tag("topic",topic).tag("outcome",error==null ? "success" : "failure")
+                        .register(meterRegistry)));
     }
 }
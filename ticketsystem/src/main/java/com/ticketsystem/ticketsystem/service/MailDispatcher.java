@@ -0,0 +1,176 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ticketsystem.ticketsystem.entity.QueuedEmail;
+import com.ticketsystem.ticketsystem.enums.EmailStatus;
+import com.ticketsystem.ticketsystem.repo.QueuedEmailRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains the email_queue table. Each worker claims a batch of due rows and hands the whole
+ * batch to {@link JavaMailSender#send(SimpleMailMessage...)}, which delivers it over a single
+ * SMTP connection. Failed rows are rescheduled with exponential backoff until
+ * app.mail.max-attempts is reached.
+ */
+@Service
+public class MailDispatcher {
+
+    private final QueuedEmailRepo queueRepo;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor mailExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong queueDepth=new AtomicLong();
+    private final Timer sendLatency;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.mail.from}")
+    private String sendFrom;
+
+    @Value("${app.mail.batch-size:50}")
+    private int batchSize=50;
+
+    @Value("${app.mail.max-attempts:5}")
+    private int maxAttempts=5;
+
+    @Value("${app.mail.backoff-ms:30000}")
+    private long backoffMs=30000;
+
+    @Value("${app.mail.max-backoff-ms:3600000}")
+    private long maxBackoffMs=3600000;
+
+    public MailDispatcher(QueuedEmailRepo queueRepo,JavaMailSender mailSender,@Qualifier("mailExecutor") ThreadPoolTaskExecutor mailExecutor,
+            PlatformTransactionManager transactionManager,MeterRegistry registry){
+        this.queueRepo=queueRepo;
+        this.mailSender=mailSender;
+        this.mailExecutor=mailExecutor;
+        this.transactionTemplate=new TransactionTemplate(transactionManager);
+
+        Gauge.builder("mail.queue.depth",queueDepth,AtomicLong::get)
+                .description("Emails waiting in email_queue")
+                .register(registry);
+        this.sendLatency=Timer.builder("mail.send.latency")
+                .description("Time to deliver one batch over a single SMTP connection")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.sentCounter=registry.counter("mail.sent");
+        this.retryCounter=registry.counter("mail.retried");
+        this.failedCounter=registry.counter("mail.failed");
+    }
+
+    @Scheduled(fixedDelayString="${app.mail.poll-interval-ms:2000}")
+    public void poll(){
+        long pending=queueRepo.countByStatus(EmailStatus.PENDING);
+        queueDepth.set(pending);
+        if(pending==0){
+            return;
+        }
+        // Busy workers reject the extra tasks; nothing is lost because the rows stay PENDING
+        for(int i=0;i<mailExecutor.getMaxPoolSize();i++){
+            mailExecutor.execute(this::drain);
+        }
+    }
+
+    public void drain(){
+        int processed;
+        do{
+            processed=transactionTemplate.execute(status->dispatchBatch());
+        }while(processed==batchSize);
+    }
+
+    int dispatchBatch(){
+        List<QueuedEmail> batch=queueRepo.claimPendingBatch(LocalDateTime.now(),batchSize);
+        if(batch.isEmpty()){
+            return 0;
+        }
+
+        SimpleMailMessage[] messages=new SimpleMailMessage[batch.size()];
+        for(int i=0;i<batch.size();i++){
+            messages[i]=toMessage(batch.get(i));
+        }
+
+        Map<Object,Exception> failed=Map.of();
+        Exception batchError=null;
+        Timer.Sample sample=Timer.start();
+        try{
+            mailSender.send(messages);
+        }catch(MailSendException e){
+            failed=e.getFailedMessages();
+            if(failed.isEmpty()){
+                batchError=e;
+            }
+        }catch(MailException e){
+            batchError=e;
+        }
+        sample.stop(sendLatency);
+
+        LocalDateTime now=LocalDateTime.now();
+        for(int i=0;i<batch.size();i++){
+            QueuedEmail email=batch.get(i);
+            Exception error=batchError!=null ? batchError : failed.get(messages[i]);
+            if(error==null){
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sentCounter.increment();
+            }else{
+                reschedule(email,error,now);
+            }
+        }
+        queueRepo.saveAll(batch);
+        return batch.size();
+    }
+
+    private void reschedule(QueuedEmail email,Exception error,LocalDateTime now){
+        int attempts=email.getAttempts()+1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(error.getMessage()));
+        if(attempts>=maxAttempts){
+            email.setStatus(EmailStatus.FAILED);
+            failedCounter.increment();
+            return;
+        }
+        long delay=Math.min(maxBackoffMs,backoffMs*(1L<<Math.min(attempts-1,20)));
+        email.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
+        retryCounter.increment();
+    }
+
+    private SimpleMailMessage toMessage(QueuedEmail email){
+        SimpleMailMessage message=new SimpleMailMessage();
+        message.setFrom(sendFrom);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String message){
+        if(message==null){
+            return null;
+        }
+        return message.length()>255 ? message.substring(0,255) : message;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.dto.OrgMetadata;
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.exception.ResourceNotFoundException;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+
+/**
+ * In-process cache of organization name and plan, the single place hot paths read plan
+ * limits from. Entries live for app.org-metadata.ttl-ms; call {@link #invalidate(Long)}
+ * after changing an organization's name or plan.
+ */
+@Service
+public class OrgMetadataService {
+
+    private final OrganizationRepo orgRepo;
+    private final Map<Long,Entry> cache=new ConcurrentHashMap<>();
+
+    @Value("${app.org-metadata.ttl-ms:300000}")
+    private long ttlMs=300000;
+
+    @Value("${app.org-metadata.max-entries:10000}")
+    private int maxEntries=10000;
+
+    public OrgMetadataService(OrganizationRepo orgRepo){
+        this.orgRepo=orgRepo;
+    }
+
+    public OrgMetadata get(Long orgId){
+        long now=System.currentTimeMillis();
+        Entry entry=cache.get(orgId);
+        if(entry!=null && entry.expiresAt>now){
+            return entry.metadata;
+        }
+        Organization org=orgRepo.findById(orgId).orElseThrow(()->new ResourceNotFoundException("No Such Organization"));
+        OrgMetadata metadata=new OrgMetadata(org.getId(),org.getOrgName(),org.getOrgPlan());
+        if(cache.size()>=maxEntries){
+            cache.values().removeIf(e->e.expiresAt<=now);
+            if(cache.size()>=maxEntries){
+                cache.clear();
+            }
+        }
+        cache.put(orgId,new Entry(metadata,now+ttlMs));
+        return metadata;
+    }
+
+    public void invalidate(Long orgId){
+        cache.remove(orgId);
+    }
+
+    private record Entry(OrgMetadata metadata,long expiresAt){
+    }
+}
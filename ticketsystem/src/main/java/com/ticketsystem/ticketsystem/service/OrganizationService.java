@@ -3,13 +3,16 @@ package com.ticketsystem.ticketsystem.service;
 
 import java.time.LocalDateTime;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.ticketsystem.ticketsystem.dto.OrganizationResponseDTO;
+import com.ticketsystem.ticketsystem.dto.SeatUsageResponse;
 import com.ticketsystem.ticketsystem.entity.Organization;
 import com.ticketsystem.ticketsystem.entity.Users;
 import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.exception.ResourceNotFoundException;
 import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 
@@ -23,14 +26,14 @@ public class OrganizationService {
     private final UserRepo userRepo;
     private final PasswordEncoder encoder;
     private final EmailService emailService;
-    private final KafkaMessageProducer kafkaMessageProducer;
+    private final OutboxService outboxService;
 
-    public OrganizationService(OrganizationRepo orgRepo, UserRepo userRepo, PasswordEncoder encoder,EmailService emailService,KafkaMessageProducer kafkaMessageProducer){
+    public OrganizationService(OrganizationRepo orgRepo, UserRepo userRepo, PasswordEncoder encoder,EmailService emailService,OutboxService outboxService){
         this.orgRepo=orgRepo;
         this.userRepo=userRepo;
         this.encoder=encoder;
         this.emailService=emailService;
-        this.kafkaMessageProducer=kafkaMessageProducer;
+        this.outboxService=outboxService;
     }
 
 
@@ -40,6 +43,7 @@ public class OrganizationService {
         String pass=encoder.encode(request.getOrgPassword());
         request.setOrgPassword(pass);
         request.setCreatedAt(LocalDateTime.now());
+        request.setSeatCount(1); // the admin user below
         orgRepo.save(request);
         Users user=new Users();
         
@@ -54,11 +58,19 @@ public class OrganizationService {
         OrganizationResponseDTO response=new OrganizationResponseDTO();
         response.setId(request.getId());
         response.setName(request.getOrgName());
-        kafkaMessageProducer.sendMessage(request.getId());
+        // Both side effects are rows in this transaction; OutboxRelay and MailDispatcher deliver them after commit
+        outboxService.append(request.getId(),KafkaMessageProducer.ORGANIZATION_TOPIC,request.getId().toString());
         emailService.sendEmail(request.getOrgEmail(), "Confirmation of Organization at IntelliDesk", 
         "Congratulations! You have Successfully registered under the IntelliDesk.\n "+ 
         "and  Your organization id is: "+request.getId()+"\n And  Organization name is"+request.getOrgName());
         
        return response;
     }
+
+    // Read-side plan checks (e.g. "seats left") are served from the cache; registration evicts the entry
+    @Cacheable(value="orgSeats",key="#orgId")
+    public SeatUsageResponse getSeatUsageService(Long orgId){
+        Organization org=orgRepo.findCurrentById(orgId).orElseThrow(()->new ResourceNotFoundException("No Such Organization"));
+        return new SeatUsageResponse(org.getId(),org.getOrgPlan(),org.getSeatCount(),org.getOrgPlan().getSeatLimit());
+    }
 }
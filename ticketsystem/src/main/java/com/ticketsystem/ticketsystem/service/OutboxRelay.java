@@ -0,0 +1,170 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ticketsystem.ticketsystem.entity.OutboxEvent;
+import com.ticketsystem.ticketsystem.repo.OutboxEventRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Polls outbox_event and publishes unpublished rows to Kafka in id order, keyed by org id.
+ * Rows are only marked published after the broker acks them (at-least-once). When a send
+ * fails, the remaining events of that org in the batch are held back so they are re-sent
+ * after the failed one on the next poll; an event that fails app.outbox.max-attempts times is
+ * marked failed and skipped from then on.
+ *
+ * A batch is claimed and marked in two short transactions and sent in between, so no
+ * connection or lock is held while waiting for the broker. The claim is a lease
+ * (claimed_until): while one relay's batch is in flight no other node claims anything, which
+ * keeps per-org ordering, and if that relay dies the lease runs out and another node re-sends.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log=LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final long RELAY_LOCK_KEY=0x6f7574626f78L;
+
+    private final OutboxEventRepo outboxRepo;
+    private final KafkaMessageProducer producer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong lagMillis=new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize=200;
+
+    // Total time a batch waits for broker acks
+    @Value("${app.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs=10000;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts=10;
+
+    public OutboxRelay(OutboxEventRepo outboxRepo,KafkaMessageProducer producer,PlatformTransactionManager transactionManager,MeterRegistry registry){
+        this.outboxRepo=outboxRepo;
+        this.producer=producer;
+        this.transactionTemplate=new TransactionTemplate(transactionManager);
+
+        Gauge.builder("outbox.lag",lagMillis,AtomicLong::get)
+                .description("Age in ms of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(registry);
+        this.publishedCounter=registry.counter("outbox.published");
+        this.retryCounter=registry.counter("outbox.retried");
+        this.failedCounter=registry.counter("outbox.failed");
+    }
+
+    // app.outbox.poll-interval-ms bounds how long a committed event waits before it is relayed
+    @Scheduled(fixedDelayString="${app.outbox.poll-interval-ms:500}")
+    public void relay(){
+        int published;
+        do{
+            published=relayBatch();
+        }while(published==batchSize);
+
+        LocalDateTime oldest=outboxRepo.findOldestUnpublished();
+        lagMillis.set(oldest==null ? 0 : Duration.between(oldest,LocalDateTime.now()).toMillis());
+    }
+
+    int relayBatch(){
+        List<OutboxEvent> batch=transactionTemplate.execute(status->claimBatch());
+        if(batch.isEmpty()){
+            return 0;
+        }
+
+        // Hand the whole batch to the producer first so it can fill its own batches, then wait for acks in order
+        List<CompletableFuture<?>> sends=new ArrayList<>(batch.size());
+        for(OutboxEvent event:batch){
+            sends.add(producer.send(event.getTopic(),event.getEventKey(),event.getPayload()));
+        }
+
+        long deadline=System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> publishedIds=new ArrayList<>();
+        List<OutboxEvent> failed=new ArrayList<>();
+        Set<Long> heldBackOrgs=new HashSet<>();
+        for(int i=0;i<batch.size();i++){
+            OutboxEvent event=batch.get(i);
+            if(heldBackOrgs.contains(event.getOrgId())){
+                continue;
+            }
+            try{
+                sends.get(i).get(Math.max(0,deadline-System.nanoTime()),TimeUnit.NANOSECONDS);
+                publishedIds.add(event.getId());
+            }catch(ExecutionException|TimeoutException e){
+                event.setAttempts(event.getAttempts()+1);
+                event.setLastError(String.valueOf(e.getMessage()));
+                failed.add(event);
+                heldBackOrgs.add(event.getOrgId());
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status->markBatch(batch,publishedIds,failed));
+        return publishedIds.size();
+    }
+
+    // Claims the next batch, or nothing while another relay's batch is still in flight
+    private List<OutboxEvent> claimBatch(){
+        LocalDateTime now=LocalDateTime.now();
+        if(!outboxRepo.tryRelayLock(RELAY_LOCK_KEY) || outboxRepo.hasClaimedEvents(now)){
+            return List.of();
+        }
+        List<OutboxEvent> batch=outboxRepo.findUnpublishedBatch(batchSize);
+        if(!batch.isEmpty()){
+            // Twice the ack wait leaves room for the mark transaction before another node may take over
+            outboxRepo.claim(ids(batch),now.plus(Duration.ofMillis(2*sendTimeoutMs)));
+        }
+        return batch;
+    }
+
+    private void markBatch(List<OutboxEvent> batch,List<Long> publishedIds,List<OutboxEvent> failed){
+        LocalDateTime now=LocalDateTime.now();
+        if(!publishedIds.isEmpty()){
+            outboxRepo.markPublished(publishedIds,now);
+            publishedCounter.increment(publishedIds.size());
+        }
+        for(OutboxEvent event:failed){
+            LocalDateTime failedAt=null;
+            if(event.getAttempts()>=maxAttempts){
+                failedAt=now;
+                failedCounter.increment();
+                log.warn("Outbox event {} of org {} failed after {} attempts: {}",event.getId(),event.getOrgId(),event.getAttempts(),event.getLastError());
+            }else{
+                retryCounter.increment();
+            }
+            outboxRepo.recordFailure(event.getId(),event.getAttempts(),event.getLastError(),failedAt);
+        }
+        outboxRepo.releaseClaims(ids(batch));
+    }
+
+    private static List<Long> ids(List<OutboxEvent> batch){
+        return batch.stream().map(OutboxEvent::getId).toList();
+    }
+}
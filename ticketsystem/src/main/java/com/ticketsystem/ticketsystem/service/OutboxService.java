@@ -0,0 +1,37 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.entity.OutboxEvent;
+import com.ticketsystem.ticketsystem.repo.OutboxEventRepo;
+
+/**
+ * Records Kafka events in the outbox_event table as part of the caller's transaction.
+ * Nothing reaches the broker until the transaction commits; {@link OutboxRelay} publishes it.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepo outboxRepo;
+
+    public OutboxService(OutboxEventRepo outboxRepo){
+        this.outboxRepo=outboxRepo;
+    }
+
+    public void append(Long orgId,String topic,byte[] payload){
+        OutboxEvent event=new OutboxEvent();
+        event.setOrgId(orgId);
+        event.setTopic(topic);
+        event.setEventKey(orgId.toString());
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        outboxRepo.save(event);
+    }
+
+    public void append(Long orgId,String topic,String payload){
+        append(orgId,topic,payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
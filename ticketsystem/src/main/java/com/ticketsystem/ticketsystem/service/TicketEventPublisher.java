@@ -0,0 +1,46 @@
+package com.ticketsystem.ticketsystem.service;
+
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.dto.TicketEvent;
+import com.ticketsystem.ticketsystem.enums.TicketEventType;
+
+/**
+ * Appends ticket events to the outbox in the caller's transaction. The relay publishes
+ * them keyed by org id, so each tenant's events stay ordered within one partition. Every
+ * event also moves the org's list ETag on (TicketVersionService) once the transaction commits.
+ */
+@Service
+public class TicketEventPublisher {
+
+    public static final String TICKET_TOPIC="ticket-events";
+
+    private final OutboxService outboxService;
+    private final TicketVersionService ticketVersions;
+
+    public TicketEventPublisher(OutboxService outboxService,TicketVersionService ticketVersions){
+        this.outboxService=outboxService;
+        this.ticketVersions=ticketVersions;
+    }
+
+    public void ticketCreated(Long orgId,Long ticketId,Long clientId,String status){
+        publish(new TicketEvent(TicketEventType.CREATED,orgId,ticketId,clientId,System.currentTimeMillis(),status,null,null));
+    }
+
+    public void ticketAssigned(Long orgId,Long ticketId,Long assignedById,Long assignedToId,String status){
+        publish(new TicketEvent(TicketEventType.ASSIGNED,orgId,ticketId,assignedById,System.currentTimeMillis(),status,assignedToId,null));
+    }
+
+    public void statusChanged(Long orgId,Long ticketId,Long actorId,String status){
+        publish(new TicketEvent(TicketEventType.STATUS_CHANGED,orgId,ticketId,actorId,System.currentTimeMillis(),status,null,null));
+    }
+
+    public void commentAdded(Long orgId,Long ticketId,Long userId,Long commentId){
+        publish(new TicketEvent(TicketEventType.COMMENTED,orgId,ticketId,userId,System.currentTimeMillis(),null,null,commentId));
+    }
+
+    private void publish(TicketEvent event){
+        outboxService.append(event.getOrgId(),TICKET_TOPIC,event.encode());
+        ticketVersions.bumpAfterCommit(event.getOrgId());
+    }
+}
@@ -0,0 +1,252 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.dto.ReadModelCheckResponse;
+import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+import com.ticketsystem.ticketsystem.utils.TicketMapper;
+
+/**
+ * Redis projection of the ticket list views, one keyspace per org:
+ *   rm:org:{orgId}:ticket:{id}        hash of TicketResponseDTO fields
+ *   rm:org:{orgId}:tickets:created    zset scored by created_at
+ *   rm:org:{orgId}:tickets:priority   zset scored by priority rank (URGENT=1 .. none=5)
+ *   rm:org:{orgId}:tickets:due        zset scored by due_date
+ *   rm:org:{orgId}:ready              set once a rebuild has populated the org
+ * Reads are only served from Redis when app.readmodel.enabled is on and the org is ready.
+ */
+@Service
+public class TicketReadModel {
+
+    private static final String PHOTO_SEPARATOR="\n";
+
+    private final StringRedisTemplate redis;
+    private final TicketRepository ticketRepo;
+
+    @Value("${app.readmodel.enabled:false}")
+    private boolean enabled;
+
+    public TicketReadModel(StringRedisTemplate redis,TicketRepository ticketRepo){
+        this.redis=redis;
+        this.ticketRepo=ticketRepo;
+    }
+
+    public boolean serves(Long orgId){
+        return enabled && Boolean.TRUE.equals(redis.hasKey(readyKey(orgId)));
+    }
+
+    public void project(Ticket ticket){
+        writeAll(ticket.getOrganization().getId(),List.of(TicketMapper.toResponse(ticket)));
+    }
+
+    public List<TicketResponseDTO> findAll(Long orgId,String priority,String status){
+        return load(orgId,redis.opsForZSet().range(key(orgId,"created"),0,-1)).stream()
+                .filter(t->priority==null || (t.getPriority()!=null && t.getPriority().name().equals(priority)))
+                .filter(t->status==null || status.equals(t.getStatus()))
+                .toList();
+    }
+
+    public List<TicketResponseDTO> findUnassigned(Long orgId,String status){
+        return findAll(orgId,null,status).stream()
+                .filter(t->t.getAssignedToName()==null)
+                .toList();
+    }
+
+    public List<TicketResponseDTO> findByPriority(Long orgId){
+        return load(orgId,redis.opsForZSet().range(key(orgId,"priority"),0,-1));
+    }
+
+    // Same cut-off as TicketRepository.findByDues: due before the start of today and not resolved
+    public List<TicketResponseDTO> findOverdue(Long orgId){
+        double today=toScore(LocalDate.now().atStartOfDay());
+        return load(orgId,redis.opsForZSet().rangeByScore(key(orgId,"due"),Double.NEGATIVE_INFINITY,today-1)).stream()
+                .filter(t->!"RESOLVED".equals(t.getStatus()))
+                .toList();
+    }
+
+    public int rebuild(Long orgId){
+        List<TicketResponseDTO> tickets=ticketRepo.findAllByFilters(null,null,orgId).stream()
+                .map(TicketMapper::toResponse)
+                .toList();
+        clear(orgId);
+        writeAll(orgId,tickets);
+        redis.opsForValue().set(readyKey(orgId),String.valueOf(System.currentTimeMillis()));
+        return tickets.size();
+    }
+
+    public ReadModelCheckResponse check(Long orgId){
+        Map<Long,TicketResponseDTO> expected=ticketRepo.findAllByFilters(null,null,orgId).stream()
+                .map(TicketMapper::toResponse)
+                .collect(Collectors.toMap(TicketResponseDTO::getId,t->t));
+        Map<Long,TicketResponseDTO> actual=load(orgId,redis.opsForZSet().range(key(orgId,"created"),0,-1)).stream()
+                .collect(Collectors.toMap(TicketResponseDTO::getId,t->t,(a,b)->a));
+
+        List<Long> missing=new ArrayList<>();
+        List<Long> stale=new ArrayList<>();
+        for(Map.Entry<Long,TicketResponseDTO> entry:expected.entrySet()){
+            TicketResponseDTO projected=actual.get(entry.getKey());
+            if(projected==null){
+                missing.add(entry.getKey());
+            }else if(!projected.equals(entry.getValue())){
+                stale.add(entry.getKey());
+            }
+        }
+        List<Long> extra=actual.keySet().stream().filter(id->!expected.containsKey(id)).toList();
+        boolean consistent=missing.isEmpty() && stale.isEmpty() && extra.isEmpty();
+        return new ReadModelCheckResponse(orgId,expected.size(),actual.size(),missing,stale,extra,consistent);
+    }
+
+    private void writeAll(Long orgId,List<TicketResponseDTO> tickets){
+        if(tickets.isEmpty()){
+            return;
+        }
+        redis.executePipelined(new SessionCallback<Object>(){
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K,V> Object execute(RedisOperations<K,V> operations) throws DataAccessException{
+                RedisOperations<String,String> ops=(RedisOperations<String,String>)operations;
+                for(TicketResponseDTO ticket:tickets){
+                    String id=String.valueOf(ticket.getId());
+                    String ticketKey=ticketKey(orgId,ticket.getId());
+                    ops.delete(ticketKey);
+                    ops.opsForHash().putAll(ticketKey,toHash(ticket));
+                    if(ticket.getCreatedAt()!=null){
+                        ops.opsForZSet().add(key(orgId,"created"),id,toScore(ticket.getCreatedAt()));
+                    }
+                    ops.opsForZSet().add(key(orgId,"priority"),id,priorityRank(ticket.getPriority()));
+                    if(ticket.getDueDate()!=null){
+                        ops.opsForZSet().add(key(orgId,"due"),id,toScore(ticket.getDueDate()));
+                    }else{
+                        ops.opsForZSet().remove(key(orgId,"due"),id);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    private List<TicketResponseDTO> load(Long orgId,Collection<String> ids){
+        if(ids==null || ids.isEmpty()){
+            return Collections.emptyList();
+        }
+        List<String> orderedIds=new ArrayList<>(ids);
+        List<Object> hashes=redis.executePipelined(new SessionCallback<Object>(){
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K,V> Object execute(RedisOperations<K,V> operations) throws DataAccessException{
+                RedisOperations<String,String> ops=(RedisOperations<String,String>)operations;
+                for(String id:orderedIds){
+                    ops.opsForHash().entries(ticketKey(orgId,Long.valueOf(id)));
+                }
+                return null;
+            }
+        });
+        List<TicketResponseDTO> tickets=new ArrayList<>(hashes.size());
+        for(Object hash:hashes){
+            Map<?,?> fields=(Map<?,?>)hash;
+            if(fields!=null && !fields.isEmpty()){
+                tickets.add(fromHash(fields));
+            }
+        }
+        return tickets;
+    }
+
+    private void clear(Long orgId){
+        Set<String> ids=redis.opsForZSet().range(key(orgId,"created"),0,-1);
+        List<String> keys=new ArrayList<>();
+        if(ids!=null){
+            ids.forEach(id->keys.add(ticketKey(orgId,Long.valueOf(id))));
+        }
+        keys.add(key(orgId,"created"));
+        keys.add(key(orgId,"priority"));
+        keys.add(key(orgId,"due"));
+        keys.add(readyKey(orgId));
+        redis.delete(keys);
+    }
+
+    private static Map<String,String> toHash(TicketResponseDTO ticket){
+        Map<String,String> hash=new HashMap<>();
+        put(hash,"id",ticket.getId());
+        put(hash,"organizationName",ticket.getOrganizationName());
+        put(hash,"title",ticket.getTitle());
+        put(hash,"description",ticket.getDescription());
+        put(hash,"status",ticket.getStatus());
+        put(hash,"priority",ticket.getPriority()!=null ? ticket.getPriority().name() : null);
+        put(hash,"clientName",ticket.getClientName());
+        put(hash,"assignedToName",ticket.getAssignedToName());
+        put(hash,"createdAt",ticket.getCreatedAt());
+        put(hash,"dueDate",ticket.getDueDate());
+        put(hash,"photoPath",ticket.getPhotoPath()!=null ? String.join(PHOTO_SEPARATOR,ticket.getPhotoPath()) : null);
+        put(hash,"assignedByName",ticket.getAssignedByName());
+        return hash;
+    }
+
+    private static TicketResponseDTO fromHash(Map<?,?> hash){
+        TicketResponseDTO ticket=new TicketResponseDTO();
+        ticket.setId(Long.valueOf((String)hash.get("id")));
+        ticket.setOrganizationName((String)hash.get("organizationName"));
+        ticket.setTitle((String)hash.get("title"));
+        ticket.setDescription((String)hash.get("description"));
+        ticket.setStatus((String)hash.get("status"));
+        String priority=(String)hash.get("priority");
+        ticket.setPriority(priority!=null ? Priority.valueOf(priority) : null);
+        ticket.setClientName((String)hash.get("clientName"));
+        ticket.setAssignedToName((String)hash.get("assignedToName"));
+        String createdAt=(String)hash.get("createdAt");
+        ticket.setCreatedAt(createdAt!=null ? LocalDateTime.parse(createdAt) : null);
+        String dueDate=(String)hash.get("dueDate");
+        ticket.setDueDate(dueDate!=null ? LocalDateTime.parse(dueDate) : null);
+        String photos=(String)hash.get("photoPath");
+        ticket.setPhotoPath(photos==null || photos.isEmpty() ? Collections.emptyList() : Arrays.asList(photos.split(PHOTO_SEPARATOR)));
+        ticket.setAssignedByName((String)hash.get("assignedByName"));
+        return ticket;
+    }
+
+    private static void put(Map<String,String> hash,String field,Object value){
+        if(value!=null){
+            hash.put(field,value.toString());
+        }
+    }
+
+    private static double priorityRank(Priority priority){
+        return priority==null ? 5 : priority.ordinal()+1;
+    }
+
+    private static double toScore(LocalDateTime time){
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String key(Long orgId,String index){
+        return "rm:org:"+orgId+":tickets:"+index;
+    }
+
+    private static String ticketKey(Long orgId,Long ticketId){
+        return "rm:org:"+orgId+":ticket:"+Objects.requireNonNull(ticketId);
+    }
+
+    private static String readyKey(Long orgId){
+        return "rm:org:"+orgId+":ready";
+    }
+}
@@ -0,0 +1,36 @@
+package com.ticketsystem.ticketsystem.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.dto.TicketEvent;
+import com.ticketsystem.ticketsystem.enums.TicketEventType;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+
+/**
+ * Keeps {@link TicketReadModel} up to date from the ticket-events stream. Events only say
+ * which ticket changed; the current row is re-read and projected, so replays and
+ * duplicates from the at-least-once relay are harmless.
+ */
+@Service
+@ConditionalOnProperty(name="app.readmodel.enabled",havingValue="true")
+public class TicketReadModelProjector {
+
+    private final TicketReadModel readModel;
+    private final TicketRepository ticketRepo;
+
+    public TicketReadModelProjector(TicketReadModel readModel,TicketRepository ticketRepo){
+        this.readModel=readModel;
+        this.ticketRepo=ticketRepo;
+    }
+
+    @KafkaListener(topics=TicketEventPublisher.TICKET_TOPIC,groupId="ticket-read-model",containerFactory="ticketEventListenerFactory")
+    public void onTicketEvent(byte[] payload){
+        TicketEvent event=TicketEvent.decode(payload);
+        if(event.getType()==TicketEventType.COMMENTED){
+            return; // comments are not part of the list views
+        }
+        ticketRepo.findListViewById(event.getTicketId()).ifPresent(readModel::project);
+    }
+}
@@ -8,11 +8,13 @@ import org.springframework.web.multipart.MultipartFile;
 import com.ticketsystem.ticketsystem.dto.SingleTicketResponse;
 import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
 import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
 
 public interface TicketService {
    public String createTicketService(Ticket ticket, List<MultipartFile> photos, String userId);
    public Optional<List<TicketResponseDTO>> getNullOpenTicketService( String status,Long orgId);
-   public String assignTicketService(Long ticketId,Long assignedById,Long assignedToId);
+   public String assignTicketService(Long ticketId,Long orgId,Long assignedById,Long assignedToId,Long expectedVersion);
+   public String changeStatusService(Long ticketId,Long orgId,Users actor,String status,Long expectedVersion);
    public Optional<List<TicketResponseDTO>> getAllTickets(String priority,String status,Long orgId);
    public List<TicketResponseDTO> sortTicketByPriority(String direction,Long orgId);
    public Optional<SingleTicketResponse> getTicketByIds(Long ticketId);
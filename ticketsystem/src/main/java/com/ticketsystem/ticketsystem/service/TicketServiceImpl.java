@@ -1,28 +1,51 @@
 package com.ticketsystem.ticketsystem.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.ticketsystem.ticketsystem.dto.CommentResponse;
+import com.ticketsystem.ticketsystem.dto.OrgMetadata;
 import com.ticketsystem.ticketsystem.dto.SingleTicketResponse;
 import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
 import com.ticketsystem.ticketsystem.dto.UserDTO;
-import com.ticketsystem.ticketsystem.entity.Organization;
 import com.ticketsystem.ticketsystem.entity.Ticket;
 import com.ticketsystem.ticketsystem.entity.Users;
-import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.exception.InvalidRoleException;
+import com.ticketsystem.ticketsystem.exception.InvalidPriorityException;
+import com.ticketsystem.ticketsystem.exception.InvalidStatusException;
 import com.ticketsystem.ticketsystem.exception.ResourceNotFoundException;
+import com.ticketsystem.ticketsystem.exception.TicketConflictException;
+import com.ticketsystem.ticketsystem.exception.TicketNotFoundException;
 import com.ticketsystem.ticketsystem.repo.CommentRepo;
 import com.ticketsystem.ticketsystem.repo.TicketRepository;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 
+import com.ticketsystem.ticketsystem.utils.TicketMapper;
+
 @Service
 public class TicketServiceImpl implements TicketService {
 
@@ -30,22 +53,45 @@ public class TicketServiceImpl implements TicketService {
     private final UserRepo userRepo;
     private final FileStorageService fileStore;
     private final CommentRepo commentRepo;
-
-    public TicketServiceImpl(TicketRepository ticketRepo, UserRepo userRepo, FileStorageService fileStore,CommentRepo commentRepo) {
+    private final TicketEventPublisher eventPublisher;
+    private final TicketReadModel readModel;
+    private final OrgMetadataService orgMetadata;
+    private final UserService userService;
+    private final Executor readExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.comments.detail-page-size:20}")
+    private int detailCommentCount = 20;
+
+    // Load the ticket row and its newest comment page concurrently on readExecutor. Costs a second
+    // pooled connection per detail request: the comment query runs in its own read-only transaction
+    @Value("${app.reads.fan-out:false}")
+    private boolean fanOut = false;
+
+    public TicketServiceImpl(TicketRepository ticketRepo, UserRepo userRepo, FileStorageService fileStore,CommentRepo commentRepo,TicketEventPublisher eventPublisher,
+            TicketReadModel readModel,OrgMetadataService orgMetadata,UserService userService,@Qualifier("readExecutor") Executor readExecutor,
+            PlatformTransactionManager transactionManager) {
         this.ticketRepo = ticketRepo;
         this.userRepo = userRepo;
         this.fileStore = fileStore;
         this.commentRepo=commentRepo;
+        this.eventPublisher=eventPublisher;
+        this.readModel=readModel;
+        this.orgMetadata=orgMetadata;
+        this.userService=userService;
+        this.readExecutor=readExecutor;
+        this.readOnlyTransaction=new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
+    @Transactional
     public String createTicketService(Ticket ticket, List<MultipartFile> photos, String userId) {
         Users user = userRepo.findById(Long.valueOf(userId))
                 .orElseThrow(() -> new UsernameNotFoundException("No particular User"));
         
-        Organization org=new Organization();
-        OrgPlans plan=org.getOrgPlan();
-        int maxPhotos=plan==OrgPlans.BASE ? 2:7;
+        OrgMetadata org=orgMetadata.get(user.getOrganization().getId());
+        int maxPhotos=org.getMaxPhotosPerTicket();
 
         if(photos.size()>maxPhotos){
          throw new RuntimeException("You can upload max of "+ maxPhotos+" per ticket as per your plan");
@@ -55,12 +101,13 @@ public class TicketServiceImpl implements TicketService {
         userDto.setId(user.getId());
         userDto.setName(user.getName());
         userDto.setEmail(user.getEmail());
-        userDto.setOrganizationName(user.getOrganization().getOrgName());
+        userDto.setOrganizationName(org.getOrgName());
         userDto.setCreatedAt(user.getCreatedAt());
         userDto.setRole(user.getRole());
 
 
         ticket.setClient(user);
+        ticket.setStatus(TicketStatus.OPEN);
         ticket.setCreatedAt(LocalDateTime.now());
         ticket.setOrganization(user.getOrganization());
 
@@ -72,140 +119,157 @@ public class TicketServiceImpl implements TicketService {
 
         ticket.setPhotoPath(photosUrl);
         ticketRepo.save(ticket);
+        eventPublisher.ticketCreated(ticket.getOrganization().getId(),ticket.getId(),user.getId(),ticket.getStatus().name());
         return "Ticket Created Successfully";
 
     }
 
+    // Uncached reads run read-only, which sends them to a read replica when app.datasource.replica-urls is set
     @Override
+    @Transactional(readOnly=true)
     public Optional<List<TicketResponseDTO>> getNullOpenTicketService(String status,Long orgId) {
+        TicketStatus statusFilter = parseStatus(status);
+        if (statusFilter == null) {
+            throw new InvalidStatusException("status is required, one of " + Arrays.toString(TicketStatus.values()));
+        }
+        if (readModel.serves(orgId)) {
+            return Optional.of(readModel.findUnassigned(orgId, statusFilter.name()));
+        }
 
-        Optional<List<Ticket>> optionalTickets = ticketRepo.getTicketByAssignToAndStatus(status,orgId);
+        Optional<List<Ticket>> optionalTickets = ticketRepo.getTicketByAssignToAndStatus(statusFilter,orgId);
         if (optionalTickets.isEmpty()) {
             return Optional.of(Collections.emptyList());
         }
 
-        List<Ticket> tickets = optionalTickets.get();
-        List<TicketResponseDTO> responseList = new ArrayList<>();      
-        for (Ticket ticket : tickets) {
-            TicketResponseDTO resp = new TicketResponseDTO();
-
-            // Set basic fields
-            if (ticket.getOrganization() != null) {
-                resp.setOrganizationName(ticket.getOrganization().getOrgName());
-            } else {
-                resp.setOrganizationName(null);
-            }
-
-            resp.setTitle(ticket.getTitle());
-            resp.setDescription(ticket.getDescription());
-            resp.setStatus(ticket.getStatus());
-            resp.setPriority(ticket.getPriority());
-
-            if (ticket.getClient() != null) {
-                resp.setClientName(ticket.getClient().getName());
-            }
-
-            if (ticket.getAssignedTo() != null) {
-                resp.setAssignedToName(ticket.getAssignedTo().getName());
-            } else {
-                resp.setAssignedToName(null);
-            }
-
-            resp.setCreatedAt(ticket.getCreatedAt());
-            resp.setDueDate(ticket.getDueDate());
-
-            // Directly set the list of photo paths
-            resp.setPhotoPath(ticket.getPhotoPath() != null ? ticket.getPhotoPath() : Collections.emptyList());
-            resp.setAssignedByName(ticket.getAssignedBy().getName());
-            responseList.add(resp);
+        // Unassigned tickets have no assignedBy either; TicketMapper is null-safe
+        List<TicketResponseDTO> responseList = new ArrayList<>();
+        for (Ticket ticket : optionalTickets.get()) {
+            responseList.add(TicketMapper.toResponse(ticket));
         }
 
         return Optional.of(responseList);
     }
 
+    // One conditional UPDATE instead of read-modify-write: two managers assigning at once cannot both win.
+    // expectedVersion is the version the caller read (null skips that check, for older clients)
     @Override
-    public String assignTicketService(Long ticketId, Long assignedById, Long assignedToId) {
-        // Get existing ticket
-        Ticket ticket = ticketRepo.findById(ticketId)
-                .orElseThrow(() -> new IllegalArgumentException("Ticket not found"));
-
+    @Transactional
+    @CacheEvict(value="allTickets",allEntries=true)
+    public String assignTicketService(Long ticketId, Long orgId, Long assignedById, Long assignedToId, Long expectedVersion) {
         Users assignedByUser = userRepo.findById(assignedById)
                 .orElseThrow(() -> new UsernameNotFoundException("No such Users"));
         Users assignedToUser = userRepo.findById(assignedToId)
                 .orElseThrow(() -> new UsernameNotFoundException("No such Users"));
 
-        ticket.setAssignedBy(assignedByUser);
-        ticket.setAssignedTo(assignedToUser);
-
-        ticket.setStatus("ASSIGNED");
-        ticketRepo.save(ticket);
+        int updated = ticketRepo.assign(ticketId, orgId, assignedToUser, assignedByUser,
+                TicketStatus.sourcesOf(TicketStatus.ASSIGNED), expectedVersion);
+        if (updated == 0) {
+            throw rejectedTransition(ticketId, orgId, TicketStatus.ASSIGNED, expectedVersion, null);
+        }
+        eventPublisher.ticketAssigned(orgId,ticketId,assignedById,assignedToId,TicketStatus.ASSIGNED.name());
+        userService.evictRosterService(orgId);
 
         return "Ticket Assigned Successfully";
 
     }
 
+    // Every move except assigning, with the same conditional update. Developers may only move tickets assigned to them
+    @Override
+    @Transactional
+    @CacheEvict(value="allTickets",allEntries=true)
+    public String changeStatusService(Long ticketId, Long orgId, Users actor, String status, Long expectedVersion) {
+        TicketStatus next = parseStatus(status);
+        if (next == null) {
+            throw new InvalidStatusException("status is required, one of " + Arrays.toString(TicketStatus.values()));
+        }
+        if (next == TicketStatus.ASSIGNED) {
+            throw new InvalidStatusException("Use POST /ticket/{id}/assign to assign a ticket");
+        }
+        Long assigneeId = actor.getRole() == Role.DEVELOPER ? actor.getId() : null;
+
+        int updated = ticketRepo.changeStatus(ticketId, orgId, next, TicketStatus.sourcesOf(next), expectedVersion, assigneeId);
+        if (updated == 0) {
+            throw rejectedTransition(ticketId, orgId, next, expectedVersion, assigneeId);
+        }
+        eventPublisher.statusChanged(orgId,ticketId,actor.getId(),next.name());
+        // RESOLVED and CLOSED tickets drop out of the roster's open counts
+        userService.evictRosterService(orgId);
+
+        return "Ticket status changed to " + next;
+    }
+
+    // Cached per org and filter; Spring stores the list inside the Optional, an empty result is cached as null.
+    // Deliberately not read-only: a miss refilled from a lagging replica would stay cached until the next write
     @Override
+    @Cacheable(value="allTickets",key="#orgId+':'+#priority+':'+#status")
     public Optional<List<TicketResponseDTO>> getAllTickets(String priority, String status,Long orgId) {
-        List<Ticket> tickets = ticketRepo.findAllByFilters(priority, status,orgId);
+        // Parsed before the branch so the read model and the database see the same filters and reject the same input
+        TicketStatus statusFilter = parseStatus(status);
+        Priority priorityFilter = parsePriority(priority);
+        if (readModel.serves(orgId)) {
+            List<TicketResponseDTO> projected = readModel.findAll(orgId, priorityFilter != null ? priorityFilter.name() : null,
+                    statusFilter != null ? statusFilter.name() : null);
+            return projected.isEmpty() ? Optional.empty() : Optional.of(projected);
+        }
+        List<Ticket> tickets = ticketRepo.findAllByFilters(priorityFilter, statusFilter,orgId);
 
         if (tickets.isEmpty()) {
             return Optional.empty();
         }
 
-      List<TicketResponseDTO> dtoList = tickets.stream()
-    .map(ticket -> new TicketResponseDTO(
-            ticket.getId(),
-            ticket.getOrganization().getOrgName(),
-            ticket.getTitle(),
-            ticket.getDescription(),
-            ticket.getStatus(),
-            ticket.getPriority(),
-            ticket.getClient() != null ? ticket.getClient().getName() : null,
-            ticket.getAssignedTo() != null ? ticket.getAssignedTo().getName() : null,
-            ticket.getCreatedAt(),
-            ticket.getDueDate(),
-            ticket.getPhotoPath(),
-            ticket.getAssignedBy() != null ? ticket.getAssignedBy().getName() : null
-    ))
-    .collect(Collectors.toList());
+        List<TicketResponseDTO> dtoList = tickets.stream().map(TicketMapper::toResponse).collect(Collectors.toList());
 
         return Optional.of(dtoList);
     }
 
     @Override
+    @Transactional(readOnly=true)
     public List<TicketResponseDTO> sortTicketByPriority(String direction,Long orgId) {
+        if (readModel.serves(orgId)) {
+            List<TicketResponseDTO> projected = new ArrayList<>(readModel.findByPriority(orgId));
+            if ("desc".equalsIgnoreCase(direction)) {
+                Collections.reverse(projected);
+            }
+            return projected;
+        }
         List<Ticket> response = ticketRepo.sortTicketByPriority(orgId);
 
         if ("desc".equalsIgnoreCase(direction)) {
             Collections.reverse(response);
         }
-        return response.stream().map(ticket -> new TicketResponseDTO(
-                ticket.getId(),
-                ticket.getOrganization().getOrgName(),
-                ticket.getTitle(),
-                ticket.getDescription(),
-                ticket.getStatus(),
-                ticket.getPriority(),
-                ticket.getClient().getName(),
-                ticket.getAssignedTo().getName(),
-                ticket.getCreatedAt(),
-                ticket.getDueDate(),
-                ticket.getPhotoPath(),
-                ticket.getAssignedBy().getName())).toList();
+        // Unassigned tickets sort in too; TicketMapper is null-safe
+        return response.stream().map(TicketMapper::toResponse).toList();
 
     }
 
 
     @Override
+    @Transactional(readOnly=true)
     public Optional<SingleTicketResponse> getTicketByIds(Long ticketId){
-        Ticket getTicket=ticketRepo.findById(ticketId).orElseThrow(()->new ResourceNotFoundException("No such Tickets"));
-
-        List<String> commentTexts = commentRepo.findByTicketId(ticketId)
-        .orElse(Collections.emptyList())
-        .stream()
-        .map(c-> "By : "+(c.getCommentedBy().getName()!=null ? c.getCommentedBy().getName() : "Unknown" )
-                +" - "+c.getComment())
-        .toList();
+        // Only the newest page; older comments come from GET /ticket/{id}/comments?cursor=
+        PageRequest page=PageRequest.of(0,detailCommentCount);
+        CompletableFuture<List<CommentResponse>> latestPage=fanOut
+                // The caller's read-only transaction does not reach readExecutor; without one the query would skip the replicas
+                ? CompletableFuture.supplyAsync(()->readOnlyTransaction.execute(status->commentRepo.findLatestPage(ticketId,page)),readExecutor)
+                : null;
+        Ticket getTicket;
+        try{
+            getTicket=ticketRepo.findDetailById(ticketId).orElseThrow(()->new ResourceNotFoundException("No such Tickets"));
+        }catch(RuntimeException e){
+            if(latestPage!=null){
+                latestPage.cancel(true);
+            }
+            throw e;
+        }
+        List<CommentResponse> latest=latestPage!=null ? join(latestPage) : commentRepo.findLatestPage(ticketId,page);
+        List<String> commentTexts = new ArrayList<>(latest.size());
+        for (int i = latest.size() - 1; i >= 0; i--) {
+            CommentResponse c = latest.get(i);
+            commentTexts.add("By : "+(c.getAuthorName()!=null ? c.getAuthorName() : "Unknown")+" - "+c.getComment());
+        }
+        Long commentsCursor = getTicket.getCommentCount() > latest.size() && !latest.isEmpty()
+                ? latest.get(latest.size() - 1).getId() : null;
+
         String assignedToName = getTicket.getAssignedTo() != null ? getTicket.getAssignedTo().getName() : null;
         String assignedByName = getTicket.getAssignedBy() != null ? getTicket.getAssignedBy().getName() : null;
 
@@ -213,7 +277,7 @@ public class TicketServiceImpl implements TicketService {
             getTicket.getId(),
             getTicket.getTitle(),
             getTicket.getDescription(),
-            getTicket.getStatus(),
+            getTicket.getStatus().name(),
             getTicket.getPriority(),
             getTicket.getClient().getName(),
             assignedToName,
@@ -221,35 +285,82 @@ public class TicketServiceImpl implements TicketService {
             getTicket.getDueDate(),
             getTicket.getPhotoPath(),
             assignedByName,
-            commentTexts
-            
+            commentTexts,
+            getTicket.getCommentCount(),
+            getTicket.getLastCommentedAt(),
+            commentsCursor,
+            getTicket.getVersion(),
+            getTicket.getStatus().statusMoves().stream().map(Enum::name).toList()
         );
         return Optional.of(response);
     }
 
 
+    @Transactional(readOnly=true)
     public List<TicketResponseDTO> getOverDuesController(Long orgId){
-        List<Ticket> tickets=ticketRepo.findByDues(orgId);
+        if (readModel.serves(orgId)) {
+            return readModel.findOverdue(orgId);
+        }
+        List<Ticket> tickets=ticketRepo.findByDues(orgId,LocalDate.now().atStartOfDay());
          if (tickets == null) {
         return Collections.emptyList();
     }
 
-    List<TicketResponseDTO>response= tickets.stream().map(ticket->new TicketResponseDTO(
-        ticket.getId(),
-        ticket.getOrganization().getOrgName(),
-        ticket.getTitle(),
-        ticket.getDescription(),
-        ticket.getStatus(),
-        ticket.getPriority(),
-        ticket.getClient().getName(),
-        ticket.getAssignedTo().getName(),
-        ticket.getCreatedAt(),
-        ticket.getDueDate(),
-        ticket.getPhotoPath(),
-        ticket.getAssignedBy().getName())).toList();
+    List<TicketResponseDTO>response= tickets.stream().map(TicketMapper::toResponse).toList();
 
         return response;
            
     }
 
+    // Only runs after a conditional update matched nothing: reads the row to say why
+    private RuntimeException rejectedTransition(Long ticketId, Long orgId, TicketStatus next, Long expectedVersion, Long assigneeId) {
+        Ticket current = ticketRepo.findByIdAndOrganizationId(ticketId, orgId).orElse(null);
+        if (current == null) {
+            return new TicketNotFoundException("No such Tickets");
+        }
+        if (assigneeId != null && (current.getAssignedTo() == null || !assigneeId.equals(current.getAssignedTo().getId()))) {
+            return new InvalidRoleException("Only the developer assigned to this ticket can change its status");
+        }
+        if (!current.getStatus().canMoveTo(next)) {
+            return new TicketConflictException("Ticket is " + current.getStatus() + " and cannot move to " + next);
+        }
+        return new TicketConflictException("Ticket was changed by someone else (version " + expectedVersion
+                + " is now " + current.getVersion() + "), reload it and try again");
+    }
+
+    // Blank means no filter; anything that is not a TicketStatus name is a 400
+    private static TicketStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TicketStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStatusException("Unknown status " + status + ", expected one of " + Arrays.toString(TicketStatus.values()));
+        }
+    }
+
+    private static Priority parsePriority(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return null;
+        }
+        try {
+            return Priority.valueOf(priority.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPriorityException("Unknown priority " + priority + ", expected one of " + Arrays.toString(Priority.values()));
+        }
+    }
+
+    // Rethrows the sub-query's own exception so callers see the same errors as the sequential path
+    private static <T> T join(CompletableFuture<T> future){
+        try{
+            return future.join();
+        }catch(CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
 }
@@ -0,0 +1,210 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ticketsystem.ticketsystem.dto.TicketEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-org fan-out of ticket events to Server-Sent Event subscribers.
+ *
+ * Idle connections cost no thread: they are parked async requests in Tomcat's NIO connector.
+ * Writes happen on a small set of single-threaded stripes chosen by org id, so one org's
+ * events reach every subscriber in order. Each event id is "partition-offset" of the
+ * ticket-events record, which is the same on every node; a reconnect sending it back as
+ * Last-Event-ID is replayed from the per-org buffer, or told to "reset" (reload) when the
+ * buffer no longer covers it.
+ */
+@Service
+public class TicketStreamHub {
+
+    private final Map<Long,OrgChannel> channels=new ConcurrentHashMap<>();
+    // Offset just before the first record this node saw per partition; older tokens cannot be replayed here
+    private final Map<Integer,Long> partitionFloors=new ConcurrentHashMap<>();
+    private final AtomicInteger connections=new AtomicInteger();
+    private final ExecutorService[] stripes;
+
+    @Value("${app.stream.replay-size:500}")
+    private int replaySize=500;
+
+    @Value("${app.stream.timeout-ms:1800000}")
+    private long timeoutMs=1800000;
+
+    public TicketStreamHub(@Value("${app.stream.fanout-threads:4}") int fanoutThreads,MeterRegistry registry){
+        this.stripes=new ExecutorService[fanoutThreads];
+        for(int i=0;i<fanoutThreads;i++){
+            int stripe=i;
+            stripes[i]=Executors.newSingleThreadExecutor(r->{
+                Thread thread=new Thread(r,"ticket-stream-"+stripe);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        Gauge.builder("ticket.stream.connections",connections,AtomicInteger::get)
+                .description("Open ticket event streams")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe(Long orgId,String lastEventId){
+        SseEmitter emitter=new SseEmitter(timeoutMs);
+        OrgChannel channel=channels.computeIfAbsent(orgId,id->new OrgChannel());
+        emitter.onCompletion(()->remove(channel,emitter));
+        emitter.onTimeout(()->remove(channel,emitter));
+        emitter.onError(e->remove(channel,emitter));
+
+        // Replay and registration happen under the channel lock so no event is missed or sent twice. A ReentrantLock rather
+        // than synchronized: a virtual request thread writing to the emitter while holding a monitor would pin its carrier
+        channel.lock.lock();
+        try{
+            try{
+                if(lastEventId!=null){
+                    List<StreamEvent> replay=channel.eventsAfter(lastEventId,partitionFloors);
+                    if(replay==null){
+                        emitter.send(SseEmitter.event().name("reset").data("reload"));
+                    }else{
+                        for(StreamEvent event:replay){
+                            emitter.send(event.toSse());
+                        }
+                    }
+                }else{
+                    emitter.send(SseEmitter.event().name("ready").data("ok"));
+                }
+            }catch(IOException e){
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            channel.emitters.add(emitter);
+            connections.incrementAndGet();
+        }finally{
+            channel.lock.unlock();
+        }
+        return emitter;
+    }
+
+    public void publish(int partition,long offset,TicketEvent event){
+        partitionFloors.putIfAbsent(partition,offset-1);
+        OrgChannel channel=channels.computeIfAbsent(event.getOrgId(),id->new OrgChannel());
+        StreamEvent streamEvent=new StreamEvent(partition,offset,event);
+        List<SseEmitter> targets;
+        channel.lock.lock();
+        try{
+            channel.append(streamEvent,replaySize);
+            targets=new ArrayList<>(channel.emitters);
+        }finally{
+            channel.lock.unlock();
+        }
+        if(!targets.isEmpty()){
+            stripeFor(event.getOrgId()).execute(()->sendAll(channel,targets,streamEvent.toSse()));
+        }
+    }
+
+    // Keeps proxies from closing idle streams and flushes out dead connections
+    @Scheduled(fixedDelayString="${app.stream.heartbeat-ms:25000}")
+    public void heartbeat(){
+        channels.forEach((orgId,channel)->{
+            List<SseEmitter> targets=new ArrayList<>(channel.emitters);
+            if(!targets.isEmpty()){
+                stripeFor(orgId).execute(()->sendAll(channel,targets,SseEmitter.event().comment("hb")));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        for(ExecutorService stripe:stripes){
+            stripe.shutdownNow();
+        }
+        channels.values().forEach(channel->channel.emitters.forEach(SseEmitter::complete));
+    }
+
+    private void sendAll(OrgChannel channel,List<SseEmitter> targets,SseEmitter.SseEventBuilder event){
+        for(SseEmitter emitter:targets){
+            try{
+                emitter.send(event);
+            }catch(IOException|IllegalStateException e){
+                remove(channel,emitter);
+            }
+        }
+    }
+
+    private void remove(OrgChannel channel,SseEmitter emitter){
+        if(channel.emitters.remove(emitter)){
+            connections.decrementAndGet();
+        }
+    }
+
+    private ExecutorService stripeFor(Long orgId){
+        return stripes[(int)Math.floorMod(orgId,(long)stripes.length)];
+    }
+
+    private static final class OrgChannel {
+        private final ReentrantLock lock=new ReentrantLock();
+        private final List<SseEmitter> emitters=new CopyOnWriteArrayList<>();
+        private final ArrayDeque<StreamEvent> recent=new ArrayDeque<>();
+        private long evictedOffset=-1;
+
+        void append(StreamEvent event,int capacity){
+            recent.addLast(event);
+            while(recent.size()>capacity){
+                evictedOffset=recent.removeFirst().offset;
+            }
+        }
+
+        // null when the token cannot be replayed from this node, i.e. the client has to reload
+        List<StreamEvent> eventsAfter(String lastEventId,Map<Integer,Long> partitionFloors){
+            int dash=lastEventId.indexOf('-');
+            if(dash<0){
+                return null;
+            }
+            int partition;
+            long offset;
+            try{
+                partition=Integer.parseInt(lastEventId.substring(0,dash));
+                offset=Long.parseLong(lastEventId.substring(dash+1));
+            }catch(NumberFormatException e){
+                return null;
+            }
+            Long floor=partitionFloors.get(partition);
+            if(floor==null || offset<floor || offset<evictedOffset){
+                return null;
+            }
+            List<StreamEvent> replay=new ArrayList<>();
+            for(StreamEvent event:recent){
+                if(event.partition!=partition){
+                    return null;
+                }
+                if(event.offset>offset){
+                    replay.add(event);
+                }
+            }
+            return replay;
+        }
+    }
+
+    private record StreamEvent(int partition,long offset,TicketEvent event){
+        SseEmitter.SseEventBuilder toSse(){
+            return SseEmitter.event()
+                    .id(partition+"-"+offset)
+                    .name(event.getType().name())
+                    .data(event);
+        }
+    }
+}
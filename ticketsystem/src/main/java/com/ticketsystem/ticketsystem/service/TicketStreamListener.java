@@ -0,0 +1,30 @@
+package com.ticketsystem.ticketsystem.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.ticketsystem.ticketsystem.dto.TicketEvent;
+
+/**
+ * Feeds ticket-events into the local {@link TicketStreamHub}. Every node uses its own
+ * consumer group so each one sees all events for the streams it holds. The group is named
+ * after app.stream.node-id (default: the host name), which must be unique per node and stay
+ * the same across restarts, so a restarted node picks its group up again instead of leaving
+ * an orphaned one behind.
+ */
+@Service
+public class TicketStreamListener {
+
+    private final TicketStreamHub hub;
+
+    public TicketStreamListener(TicketStreamHub hub){
+        this.hub=hub;
+    }
+
+    @KafkaListener(topics=TicketEventPublisher.TICKET_TOPIC,groupId="ticket-stream-${app.stream.node-id:${HOSTNAME:local}}",
+            containerFactory="ticketEventListenerFactory",properties="auto.offset.reset=latest")
+    public void onTicketEvent(ConsumerRecord<String,byte[]> record){
+        hub.publish(record.partition(),record.offset(),TicketEvent.decode(record.value()));
+    }
+}
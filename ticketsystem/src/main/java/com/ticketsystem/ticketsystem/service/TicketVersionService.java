@@ -0,0 +1,155 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-org ticket version behind the ETags of the ticket list endpoints, kept in Redis as
+ * ticket-version:{orgId} so every node sees the same value. TicketEventPublisher bumps it for
+ * every ticket event (create, assign, status change, comment) once the transaction commits, so
+ * a conditional GET is answered with one Redis read and no database work.
+ *
+ * A missing key starts from the current time in milliseconds instead of 1, so a version handed
+ * out before a Redis flush or expiry is never reused. The key expires after
+ * app.etag.version-ttl-ms without writes, which also bounds how long a bump lost to a Redis
+ * outage can leave clients on a stale list. Without Redis no ETag is produced and lists are
+ * served in full.
+ *
+ * With read replicas, a list read right after a commit may come from a replica that is up to
+ * app.datasource.replica-max-lag-ms behind, and its body would be stored under the new ETag. A
+ * second bump after that window retires any such ETag.
+ *
+ * A failed bump leaves the org's ETag stale until the next successful one or the key's expiry;
+ * it is logged at WARN and counted in ticket.version.bump.failed.
+ */
+@Service
+public class TicketVersionService {
+
+    private static final Logger log=LoggerFactory.getLogger(TicketVersionService.class);
+
+    private static final String CURRENT_SCRIPT=
+            "local v = redis.call('GET', KEYS[1]) " +
+            "if not v then v = ARGV[1]; redis.call('SET', KEYS[1], v, 'PX', ARGV[2]) end " +
+            "return v";
+
+    private static final String BUMP_SCRIPT=
+            "if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[1], ARGV[1]) end " +
+            "local v = redis.call('INCR', KEYS[1]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return v";
+
+    private final StringRedisTemplate redis;
+    private final DefaultRedisScript<String> current=new DefaultRedisScript<>(CURRENT_SCRIPT,String.class);
+    private final DefaultRedisScript<Long> bump=new DefaultRedisScript<>(BUMP_SCRIPT,Long.class);
+
+    @Value("${app.etag.enabled:true}")
+    private boolean enabled=true;
+
+    @Value("${app.etag.version-ttl-ms:86400000}")
+    private long ttlMs=86400000;
+
+    private final long replicaLagMs;
+    private final ScheduledExecutorService delayedBumps;
+    private final Counter bumpsFailed;
+
+    public TicketVersionService(StringRedisTemplate redis,MeterRegistry meterRegistry,@Value("${app.datasource.replica-urls:}") String replicaUrls,
+            @Value("${app.datasource.replica-max-lag-ms:1000}") long replicaMaxLagMs){
+        this.redis=redis;
+        this.bumpsFailed=Counter.builder("ticket.version.bump.failed")
+                .description("Ticket version bumps lost to Redis errors; list ETags stay stale until the next bump").register(meterRegistry);
+        this.replicaLagMs=replicaUrls.isBlank() ? 0 : replicaMaxLagMs;
+        this.delayedBumps=replicaLagMs>0 ? Executors.newSingleThreadScheduledExecutor(r->{
+            Thread thread=new Thread(r,"ticket-version-rebump");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    // Weak ETag for one org's lists; variant separates representations that also change without a ticket write
+    public String etag(Long orgId,String variant){
+        if(!enabled){
+            return null;
+        }
+        try{
+            String version=redis.execute(current,List.of(key(orgId)),String.valueOf(System.currentTimeMillis()),String.valueOf(ttlMs));
+            return version!=null ? "W/\""+orgId+"-"+version+variant+"\"" : null;
+        }catch(DataAccessException e){
+            return null;
+        }
+    }
+
+    // A transaction bumps each org once, however many events it appends (e.g. a batch of comments)
+    public void bumpAfterCommit(Long orgId){
+        if(!enabled){
+            return;
+        }
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            incrementNowAndAfterReplicaLag(orgId);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending=(Set<Long>)TransactionSynchronizationManager.getResource(this);
+        if(pending==null){
+            Set<Long> orgs=new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this,orgs);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization(){
+                @Override
+                public void afterCommit(){
+                    orgs.forEach(TicketVersionService.this::incrementNowAndAfterReplicaLag);
+                }
+
+                @Override
+                public void afterCompletion(int status){
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TicketVersionService.this);
+                }
+            });
+            pending=orgs;
+        }
+        pending.add(orgId);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        if(delayedBumps!=null){
+            delayedBumps.shutdownNow();
+        }
+    }
+
+    private void incrementNowAndAfterReplicaLag(Long orgId){
+        increment(orgId);
+        if(delayedBumps!=null){
+            delayedBumps.schedule(()->increment(orgId),replicaLagMs,TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void increment(Long orgId){
+        try{
+            redis.execute(bump,List.of(key(orgId)),String.valueOf(System.currentTimeMillis()),String.valueOf(ttlMs));
+        }catch(DataAccessException e){
+            bumpsFailed.increment();
+            log.warn("Could not bump ticket version for org {}, its list ETags stay stale: {}",orgId,e.toString());
+        }
+    }
+
+    private static String key(Long orgId){
+        return "ticket-version:"+orgId;
+    }
+}
@@ -0,0 +1,184 @@
+package com.ticketsystem.ticketsystem.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ticketsystem.ticketsystem.dto.BulkProvisionResponse;
+import com.ticketsystem.ticketsystem.dto.OrgMetadata;
+import com.ticketsystem.ticketsystem.dto.UserProvisionRequest;
+import com.ticketsystem.ticketsystem.entity.QueuedEmail;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.exception.BatchTooLargeException;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.UserRepo;
+
+/**
+ * Bulk onboarding: validates and de-duplicates the batch, hashes passwords on the bounded
+ * hashExecutor before any transaction is opened, then reserves all seats with one
+ * conditional update, inserts users with JDBC batches and queues one welcome mail per user.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final String INSERT_USER="INSERT INTO users (org_id, name, email, password, created_at, role) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final UserRepo userRepo;
+    private final OrganizationRepo orgRepo;
+    private final OrgMetadataService orgMetadata;
+    private final UserService userService;
+    private final PasswordEncoder encoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailService emailService;
+    private final ThreadPoolTaskExecutor hashExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.provisioning.max-users:5000}")
+    private int maxUsers=5000;
+
+    @Value("${app.provisioning.insert-batch-size:500}")
+    private int insertBatchSize=500;
+
+    public UserProvisioningService(UserRepo userRepo,OrganizationRepo orgRepo,OrgMetadataService orgMetadata,UserService userService,PasswordEncoder encoder,JdbcTemplate jdbcTemplate,
+            EmailService emailService,@Qualifier("hashExecutor") ThreadPoolTaskExecutor hashExecutor,PlatformTransactionManager transactionManager){
+        this.userRepo=userRepo;
+        this.orgRepo=orgRepo;
+        this.orgMetadata=orgMetadata;
+        this.userService=userService;
+        this.encoder=encoder;
+        this.jdbcTemplate=jdbcTemplate;
+        this.emailService=emailService;
+        this.hashExecutor=hashExecutor;
+        this.transactionTemplate=new TransactionTemplate(transactionManager);
+    }
+
+    @CacheEvict(value="orgSeats",key="#orgId")
+    public BulkProvisionResponse provisionUsersService(Long orgId,List<UserProvisionRequest> requests){
+        if(requests.size()>maxUsers){
+            throw new BatchTooLargeException("At most "+maxUsers+" users can be provisioned per request");
+        }
+        OrgMetadata org=orgMetadata.get(orgId);
+
+        List<String> skipped=new ArrayList<>();
+        Map<String,UserProvisionRequest> accepted=new LinkedHashMap<>();
+        for(UserProvisionRequest request:requests){
+            String reason=validate(request);
+            if(reason!=null){
+                skipped.add((request.getEmail()!=null ? request.getEmail() : "<no email>")+": "+reason);
+            }else if(accepted.putIfAbsent(request.getEmail().trim(),request)!=null){
+                skipped.add(request.getEmail()+": duplicate in request");
+            }
+        }
+        if(!accepted.isEmpty()){
+            Set<String> existing=new HashSet<>(userRepo.findExistingEmails(accepted.keySet()));
+            for(String email:existing){
+                accepted.remove(email);
+                skipped.add(email+": already registered");
+            }
+        }
+        if(accepted.isEmpty()){
+            return new BulkProvisionResponse(0,skipped);
+        }
+
+        List<String> emails=new ArrayList<>(accepted.keySet());
+        List<UserProvisionRequest> users=new ArrayList<>(accepted.values());
+        List<String> hashes=hashPasswords(users);
+        LocalDateTime now=LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status->{
+            if(orgRepo.reserveSeats(orgId,users.size(),OrgPlans.BASE,OrgPlans.BASE.getSeatLimit())==0){
+                throw new RuntimeException("Adding "+users.size()+" users exceeds the seat limit of your Base Plan");
+            }
+            List<Object[]> rows=new ArrayList<>(users.size());
+            for(int i=0;i<users.size();i++){
+                UserProvisionRequest user=users.get(i);
+                rows.add(new Object[]{orgId,user.getName().trim(),emails.get(i),hashes.get(i),Timestamp.valueOf(now),
+                        (user.getRole()!=null ? user.getRole() : Role.CLIENT).name()});
+            }
+            for(int from=0;from<rows.size();from+=insertBatchSize){
+                jdbcTemplate.batchUpdate(INSERT_USER,rows.subList(from,Math.min(from+insertBatchSize,rows.size())));
+            }
+
+            List<QueuedEmail> welcomes=new ArrayList<>(users.size());
+            for(int i=0;i<users.size();i++){
+                welcomes.add(EmailService.queued(emails.get(i),"Registration Confirmation",
+                        "Congratulations! "+users.get(i).getName().trim()+"\n You have successfully registered for the organization "+org.getOrgName()));
+            }
+            emailService.sendEmails(welcomes);
+            userService.evictRosterService(orgId);
+        });
+        return new BulkProvisionResponse(users.size(),skipped);
+    }
+
+    // name,email,password[,role] per line; a leading header line is ignored
+    public static List<UserProvisionRequest> parseCsv(String csv){
+        List<UserProvisionRequest> requests=new ArrayList<>();
+        String[] lines=csv.split("\\r?\\n");
+        for(int i=0;i<lines.length;i++){
+            String line=lines[i].trim();
+            if(line.isEmpty() || (i==0 && line.toLowerCase().startsWith("name,"))){
+                continue;
+            }
+            String[] fields=line.split(",",-1);
+            UserProvisionRequest request=new UserProvisionRequest();
+            request.setName(fields.length>0 ? fields[0].trim() : null);
+            request.setEmail(fields.length>1 ? fields[1].trim() : null);
+            request.setPassword(fields.length>2 ? fields[2].trim() : null);
+            if(fields.length>3 && !fields[3].isBlank()){
+                try{
+                    request.setRole(Role.valueOf(fields[3].trim().toUpperCase()));
+                }catch(IllegalArgumentException e){
+                    throw new IllegalArgumentException("Unknown role '"+fields[3].trim()+"' on line "+(i+1));
+                }
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private List<String> hashPasswords(List<UserProvisionRequest> users){
+        List<CompletableFuture<String>> futures=new ArrayList<>(users.size());
+        for(UserProvisionRequest user:users){
+            futures.add(CompletableFuture.supplyAsync(()->encoder.encode(user.getPassword()),hashExecutor));
+        }
+        List<String> hashes=new ArrayList<>(users.size());
+        for(CompletableFuture<String> future:futures){
+            hashes.add(future.join());
+        }
+        return hashes;
+    }
+
+    private static String validate(UserProvisionRequest request){
+        if(isBlank(request.getName()) || isBlank(request.getEmail()) || isBlank(request.getPassword())){
+            return "name, email and password are required";
+        }
+        if(!request.getEmail().contains("@")){
+            return "invalid email";
+        }
+        if(request.getRole()==Role.ADMIN){
+            return "role must be CLIENT, DEVELOPER or MANAGER";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value){
+        return value==null || value.isBlank();
+    }
+}
@@ -1,10 +1,11 @@
 package com.ticketsystem.ticketsystem.service;
 
 import java.util.List;
-import java.util.Optional;
 
-import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
+import com.ticketsystem.ticketsystem.enums.Role;
 
 public interface UserService {
-    Optional<List<Users>> getDevelopersService(String role,Long orgId);
+    List<DeveloperRosterEntry> getDevelopersService(Role role,Long orgId);
+    void evictRosterService(Long orgId);
 }
@@ -1,28 +1,61 @@
 package com.ticketsystem.ticketsystem.service;
 
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
 import com.ticketsystem.ticketsystem.enums.Role;
 import com.ticketsystem.ticketsystem.repo.UserRepo;
 
 @Service
 public class UserServiceImpl implements UserService{
+
+    public static final String ROSTER_CACHE="developerRoster";
     
     private final  UserRepo userRepo;
+    private final CacheManager cacheManager;
 
-    public UserServiceImpl(UserRepo userRepo){
+    public UserServiceImpl(UserRepo userRepo,CacheManager cacheManager){
         this.userRepo=userRepo;
+        this.cacheManager=cacheManager;
     }
 
+    // Stays on the primary even with read replicas: a miss refilled from a lagging replica would stay cached until the next eviction
     @Override
-    public Optional<List<Users>> getDevelopersService(String role,Long orgId){
-        Optional<List<Users>> getUsers=userRepo.findByRole(role,orgId);
-        return getUsers;
+    @Cacheable(value=ROSTER_CACHE,key="#orgId+':'+#role.name()")
+    public List<DeveloperRosterEntry> getDevelopersService(Role role,Long orgId){
+        return userRepo.findRoster(orgId,role);
     }
 
+    // Called when users join an org or tickets change hands; deferred to commit so a concurrent read cannot re-cache the old roster
+    @Override
+    public void evictRosterService(Long orgId){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization(){
+                @Override
+                public void afterCommit(){
+                    evict(orgId);
+                }
+            });
+        }else{
+            evict(orgId);
+        }
+    }
+
+    private void evict(Long orgId){
+        Cache cache=cacheManager.getCache(ROSTER_CACHE);
+        if(cache==null){
+            return;
+        }
+        for(Role role:Role.values()){
+            cache.evict(orgId+":"+role.name());
+        }
+    }
     
 }
@@ -26,6 +26,13 @@ public class JwtFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,FilterChain filterChain) throws ServletException,IOException{
         String authHeader=request.getHeader("Authorization");
+        // Browser EventSource cannot send headers, so the ticket stream takes a short-lived stream token
+        // (POST /ticket/stream-token) as a query parameter. Regular JWTs are never read from the URL
+        boolean fromQuery=false;
+        if(authHeader==null && request.getRequestURI().equals("/ticket/stream") && request.getParameter("stream_token")!=null){
+            authHeader="Bearer "+request.getParameter("stream_token");
+            fromQuery=true;
+        }
         String token=null;
         String userId=null;
         
@@ -33,6 +40,10 @@ public class JwtFilter extends OncePerRequestFilter {
         token=authHeader.substring(7);
 
         try{
+            // A stream token is only good for opening the stream, and the query only takes stream tokens
+            if(jwtUtil.isStreamToken(token)!=fromQuery){
+                throw new IllegalArgumentException("Token not accepted here");
+            }
             userId=jwtUtil.extractUserId(token);
             String role = jwtUtil.extractRole(token);
              
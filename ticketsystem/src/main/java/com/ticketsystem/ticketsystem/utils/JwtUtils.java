@@ -21,6 +21,12 @@ public class JwtUtils {
 
     private final long JWT_EXPIRATION=60*60*1000;
 
+    static final String STREAM_TOKEN_USE="stream";
+
+    // Only opens GET /ticket/stream, which takes it from the URL: short enough that one copied from an access log is useless
+    @Value("${app.stream.token-ttl-ms:60000}")
+    private long streamTokenTtlMs;
+
     private Key getSignKey(){
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
@@ -37,6 +43,22 @@ public class JwtUtils {
                 .compact();
     }
 
+    public String generateStreamToken(String userId,String role,Long organizationId){
+        return Jwts.builder()
+                .setSubject(userId)
+                .claim("role",role)
+                .claim("orgId",organizationId)
+                .claim("use",STREAM_TOKEN_USE)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis()+streamTokenTtlMs))
+                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public boolean isStreamToken(String token){
+        return STREAM_TOKEN_USE.equals(extractAllClaims(token).get("use",String.class));
+    }
+
     public String extractUserId(String token){
         return extractClaim(token,Claims::getSubject);
     }
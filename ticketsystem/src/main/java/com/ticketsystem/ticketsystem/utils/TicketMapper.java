@@ -0,0 +1,29 @@
+package com.ticketsystem.ticketsystem.utils;
+
+import java.util.Collections;
+
+import com.ticketsystem.ticketsystem.dto.TicketResponseDTO;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+
+public final class TicketMapper {
+
+    private TicketMapper(){
+    }
+
+    // Null-safe list view of a ticket, shared by the Postgres and Redis read paths
+    public static TicketResponseDTO toResponse(Ticket ticket){
+        return new TicketResponseDTO(
+                ticket.getId(),
+                ticket.getOrganization()!=null ? ticket.getOrganization().getOrgName() : null,
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus()!=null ? ticket.getStatus().name() : null,
+                ticket.getPriority(),
+                ticket.getClient()!=null ? ticket.getClient().getName() : null,
+                ticket.getAssignedTo()!=null ? ticket.getAssignedTo().getName() : null,
+                ticket.getCreatedAt(),
+                ticket.getDueDate(),
+                ticket.getPhotoPath()!=null ? ticket.getPhotoPath() : Collections.emptyList(),
+                ticket.getAssignedBy()!=null ? ticket.getAssignedBy().getName() : null);
+    }
+}
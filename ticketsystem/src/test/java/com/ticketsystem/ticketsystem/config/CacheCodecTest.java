@@ -0,0 +1,60 @@
+package com.ticketsystem.ticketsystem.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import com.ticketsystem.ticketsystem.dto.DeveloperRosterEntry;
+import com.ticketsystem.ticketsystem.dto.SeatUsageResponse;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheCodecTest {
+
+    private final SimpleMeterRegistry meterRegistry=new SimpleMeterRegistry();
+    private final CacheCodec codec=new CacheCodec(256,meterRegistry);
+
+    @Test
+    void roundTripsCachedTypes(){
+        SeatUsageResponse seats=new SeatUsageResponse(3L,OrgPlans.BASE,4,11);
+        assertEquals(seats,codec.deserialize(codec.serialize(seats)));
+        assertEquals(42L,codec.deserialize(codec.serialize(42L)));
+
+        List<DeveloperRosterEntry> roster=new ArrayList<>();
+        for(int i=0;i<50;i++){
+            roster.add(new DeveloperRosterEntry((long)i,"Developer "+i,Role.DEVELOPER,i));
+        }
+        byte[] bytes=codec.serialize(roster);
+        assertEquals(1,bytes[2]&1,"large values are deflated");
+        assertEquals(roster,codec.deserialize(bytes));
+    }
+
+    @Test
+    void otherVersionsAndFormatsAreMisses(){
+        byte[] bytes=codec.serialize(new SeatUsageResponse(3L,OrgPlans.BASE,4,11));
+        bytes[1]=(byte)(CacheCodec.SCHEMA_VERSION+1);
+        assertNull(codec.deserialize(bytes));
+        assertNull(codec.deserialize(new JdkSerializationRedisSerializer().serialize(new SeatUsageResponse())));
+        assertEquals(2.0,meterRegistry.get("cache.codec.misses").tag("reason","version").counter().count());
+
+        byte[] corrupt=codec.serialize(new SeatUsageResponse(3L,OrgPlans.BASE,4,11));
+        byte[] truncated=new byte[corrupt.length-4];
+        System.arraycopy(corrupt,0,truncated,0,truncated.length);
+        assertNull(codec.deserialize(truncated));
+        assertEquals(1.0,meterRegistry.get("cache.codec.misses").tag("reason","unreadable").counter().count());
+    }
+
+    @Test
+    void emptyBytesAreNull(){
+        assertArrayEquals(new byte[0],codec.serialize(null));
+        assertNull(codec.deserialize(new byte[0]));
+    }
+}
@@ -0,0 +1,108 @@
+package com.ticketsystem.ticketsystem.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.UserRepo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Every step commits, as in production, so the second-level cache sees the writes
+@DataJpaTest(properties="spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation=Propagation.NOT_SUPPORTED)
+class HibernateCacheConfigTest {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private OrganizationRepo orgRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics stats;
+    private Organization org;
+    private Users user;
+
+    @BeforeEach
+    void setUp(){
+        tx=new TransactionTemplate(transactionManager);
+        org=orgRepo.save(new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1));
+        user=userRepo.save(new Users(null,org,"Dev","dev@acme.test","secret",LocalDateTime.now(),Role.DEVELOPER));
+        SessionFactory sessionFactory=emf.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        stats=sessionFactory.getStatistics();
+        stats.clear();
+    }
+
+    @AfterEach
+    void tearDown(){
+        userRepo.deleteAll();
+        orgRepo.deleteAll();
+    }
+
+    @Test
+    void secondReadOfUserAndOrganizationNeedsNoStatement(){
+        userRepo.findById(user.getId()).orElseThrow();
+        long coldStatements=stats.getPrepareStatementCount();
+
+        Users cached=userRepo.findById(user.getId()).orElseThrow();
+        assertEquals(coldStatements,stats.getPrepareStatementCount(),"warm read is served from the users and organization regions");
+        assertEquals("Acme",cached.getOrganization().getOrgName());
+        assertEquals(1,region(HibernateCacheConfig.USERS_REGION).getHitCount());
+        assertEquals(1,region(HibernateCacheConfig.ORGANIZATION_REGION).getHitCount());
+    }
+
+    @Test
+    void loginLookupByEmailUsesNaturalIdCache(){
+        assertEquals(user.getId(),userRepo.findByEmail("dev@acme.test").orElseThrow().getId());
+        long coldStatements=stats.getPrepareStatementCount();
+
+        assertEquals(user.getId(),userRepo.findByEmail("dev@acme.test").orElseThrow().getId());
+        assertEquals(coldStatements,stats.getPrepareStatementCount());
+        assertEquals(1,stats.getNaturalIdStatistics(Users.class.getName()).getCacheHitCount());
+        assertEquals(true,userRepo.findByEmail("nobody@acme.test").isEmpty());
+    }
+
+    @Test
+    void updatesReplaceCachedState(){
+        userRepo.findById(user.getId()).orElseThrow();
+        tx.executeWithoutResult(status->userRepo.findById(user.getId()).orElseThrow().setName("Renamed"));
+        assertEquals("Renamed",userRepo.findById(user.getId()).orElseThrow().getName());
+
+        // Bulk update: Hibernate evicts the region, so the next read goes back to the row
+        orgRepo.findById(org.getId()).orElseThrow();
+        tx.executeWithoutResult(status->orgRepo.reserveSeats(org.getId(),2,OrgPlans.BASE,OrgPlans.BASE.getSeatLimit()));
+        assertEquals(3,orgRepo.findById(org.getId()).orElseThrow().getSeatCount());
+    }
+
+    private CacheRegionStatistics region(String name){
+        return stats.getDomainDataRegionStatistics(name);
+    }
+}
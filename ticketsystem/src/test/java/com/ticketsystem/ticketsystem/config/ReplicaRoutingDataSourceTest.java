@@ -0,0 +1,105 @@
+package com.ticketsystem.ticketsystem.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY="SELECT lag_ms FROM replica_lag";
+
+    private final SimpleMeterRegistry meterRegistry=new SimpleMeterRegistry();
+    private final Map<String,JdbcTemplate> databases=new LinkedHashMap<>();
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp(){
+        Map<String,DataSource> replicas=new LinkedHashMap<>();
+        DataSource primary=database("primary");
+        replicas.put("replica-0",database("replica-0"));
+        replicas.put("replica-1",database("replica-1"));
+        for(String replica:replicas.keySet()){
+            databases.get(replica).execute("CREATE TABLE replica_lag(lag_ms BIGINT)");
+            databases.get(replica).execute("INSERT INTO replica_lag VALUES (0)");
+        }
+        routing=new ReplicaRoutingDataSource(primary,replicas,1000,LAG_QUERY,meterRegistry);
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+
+        DataSource dataSource=new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager=new DataSourceTransactionManager(dataSource);
+        jdbc=new JdbcTemplate(dataSource);
+        readWrite=new TransactionTemplate(transactionManager);
+        readOnly=new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown(){
+        databases.values().forEach(db->db.execute("SHUTDOWN"));
+    }
+
+    @Test
+    void writesStayOnPrimaryAndReadsRotateAcrossReplicas(){
+        assertEquals("primary",readWrite.execute(status->whoami()));
+        assertEquals("primary",whoami(),"reads outside a transaction are not read-only");
+
+        Set<String> seen=new HashSet<>();
+        for(int i=0;i<4;i++){
+            seen.add(readOnly.execute(status->whoami()));
+        }
+        assertEquals(Set.of("replica-0","replica-1"),seen);
+        assertEquals(4,meterRegistry.get("datasource.reads").tag("target","replica").counter().count());
+    }
+
+    @Test
+    void laggingOrUnreachableReplicasAreSkippedUntilTheyRecover(){
+        databases.get("replica-0").update("UPDATE replica_lag SET lag_ms=5000");
+        routing.checkReplicas();
+        for(int i=0;i<3;i++){
+            assertEquals("replica-1",readOnly.execute(status->whoami()));
+        }
+        assertEquals(5000,meterRegistry.get("datasource.replica.lag").tag("replica","replica-0").gauge().value());
+
+        databases.get("replica-1").execute("DROP TABLE replica_lag");
+        routing.checkReplicas();
+        assertEquals("primary",readOnly.execute(status->whoami()),"no usable replica falls back to the primary");
+        assertEquals(0,meterRegistry.get("datasource.replica.available").tag("replica","replica-1").gauge().value());
+
+        databases.get("replica-0").update("UPDATE replica_lag SET lag_ms=200");
+        routing.checkReplicas();
+        assertEquals("replica-0",readOnly.execute(status->whoami()));
+    }
+
+    private String whoami(){
+        return jdbc.queryForObject("SELECT name FROM whoami",String.class);
+    }
+
+    private DataSource database(String name){
+        DataSource dataSource=new DriverManagerDataSource("jdbc:h2:mem:routing-"+name+";DB_CLOSE_DELAY=-1","sa","");
+        JdbcTemplate db=new JdbcTemplate(dataSource);
+        db.execute("CREATE TABLE whoami(name VARCHAR(20))");
+        db.update("INSERT INTO whoami VALUES (?)",name);
+        databases.put(name,db);
+        return dataSource;
+    }
+}
@@ -0,0 +1,259 @@
+package com.ticketsystem.ticketsystem.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ticketsystem.ticketsystem.entity.Comments;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.loadtest.LoadTestFakes;
+import com.ticketsystem.ticketsystem.loadtest.LoadTestSeeder;
+import com.ticketsystem.ticketsystem.loadtest.LoadTestSeeder.SeededOrg;
+import com.ticketsystem.ticketsystem.repo.CommentRepo;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+import com.ticketsystem.ticketsystem.repo.UserRepo;
+import com.ticketsystem.ticketsystem.service.TicketVersionService;
+import com.ticketsystem.ticketsystem.support.QueryBudget;
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
+
+/**
+ * SQL statement and latency budgets per endpoint, on the same H2 setup as the load test. A
+ * list endpoint that starts resolving associations row by row fails here long before it shows
+ * up in production. Caches are cleared before every request so the database path is measured.
+ * Run on its own to see the numbers: mvn test -Dtest=EndpointQueryBudgetTest
+ * (add -Dquerybudget.check-latency=true to fail on the latency budgets as well)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@Import(LoadTestFakes.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTest {
+
+    private static final int TICKETS=500;
+    private static final int COMMENTS=60;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private OrganizationRepo orgRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TicketRepository ticketRepo;
+
+    @Autowired
+    private CommentRepo commentRepo;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Redis-backed in the app; the loadtest profile has no Redis, so conditional GETs are stubbed here
+    @MockitoBean
+    private TicketVersionService ticketVersions;
+
+    private SeededOrg org;
+    private Long ticketId;
+
+    @BeforeAll
+    void seed(){
+        // A second org makes sure every list is scoped to the caller's org
+        List<SeededOrg> orgs=new LoadTestSeeder(orgRepo,userRepo,ticketRepo,encoder).seed(2,TICKETS,7);
+        org=orgs.get(0);
+        ticketId=org.ticketIds().get(0);
+
+        Ticket ticket=ticketRepo.getReferenceById(ticketId);
+        List<Comments> comments=new ArrayList<>(COMMENTS);
+        for(int i=0;i<COMMENTS;i++){
+            Users author=i%2==0 ? org.manager() : org.developers().get(i%org.developers().size());
+            comments.add(new Comments(null,ticket,author,"Update "+i,LocalDateTime.now()));
+        }
+        commentRepo.saveAll(comments);
+    }
+
+    @Test
+    void listAllTickets() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/getalltickets ("+TICKETS+")",2,500,()->
+                perform(get("/ticket/getalltickets"),org.manager()));
+    }
+
+    @Test
+    void unchangedListIsNotModified() throws Exception{
+        String etag="W/\""+org.id()+"-42\"";
+        when(ticketVersions.etag(eq(org.id()),anyString())).thenReturn(etag);
+        String token=token(org.manager());
+        QueryBudget.assertWithin("GET /ticket/getalltickets (304)",0,250,()->{
+            cacheManager.getCacheNames().forEach(name->cacheManager.getCache(name).clear());
+            mvc.perform(get("/ticket/getalltickets").header("Authorization","Bearer "+token).header("If-None-Match",etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag",etag));
+        });
+        mvc.perform(get("/ticket/getalltickets").header("Authorization","Bearer "+token).header("If-None-Match","W/\""+org.id()+"-41\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag",etag));
+    }
+
+    @Test
+    void listTicketsByPriority() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/getticketbysort ("+TICKETS+")",2,500,()->
+                perform(get("/ticket/getticketbysort").param("direction","desc"),org.manager()));
+    }
+
+    @Test
+    void listOverdueTickets() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/overdues",2,500,()->
+                perform(get("/ticket/overdues"),org.manager()));
+    }
+
+    @Test
+    void listUnassignedTickets() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/getTickets?status=OPEN",2,500,()->
+                perform(get("/ticket/getTickets").param("status","OPEN"),org.manager()));
+    }
+
+    @Test
+    void ticketDetail() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/{id}",2,250,()->
+                perform(get("/ticket/"+ticketId),org.manager()));
+    }
+
+    @Test
+    void commentPage() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/{id}/comments",2,250,()->
+                perform(get("/ticket/"+ticketId+"/comments").param("size","20"),org.manager()));
+    }
+
+    @Test
+    void developerRoster() throws Exception{
+        QueryBudget.assertWithin("GET /ticket/getdevelopers",2,250,()->
+                perform(get("/ticket/getdevelopers").param("role","developer"),org.manager()));
+    }
+
+    @Test
+    void addComment() throws Exception{
+        QueryBudget.assertWithin("POST /ticket/{id}/comment",4,250,()->
+                perform(post("/ticket/"+ticketId+"/comment").contentType(MediaType.APPLICATION_JSON).content("{\"comment\":\"Still broken\"}"),
+                        org.developers().get(0)));
+    }
+
+    @Test
+    void assignTicket() throws Exception{
+        Long assignee=org.developers().get(1).getId();
+        QueryBudget.assertWithin("POST /ticket/{id}/assign",3,250,()->
+                perform(post("/ticket/"+assignableTicket(0).getId()+"/assign").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assignedToId\":"+assignee+"}"),org.manager()));
+    }
+
+    // The assignee moves the ticket on; another developer cannot
+    @Test
+    void changeStatus() throws Exception{
+        Long id=assignableTicket(2).getId();
+        Users developer=org.developers().get(2);
+        perform(post("/ticket/"+id+"/assign").contentType(MediaType.APPLICATION_JSON).content("{\"assignedToId\":"+developer.getId()+"}"),org.manager());
+
+        QueryBudget.assertWithin("POST /ticket/{id}/status",3,250,()->
+                perform(post("/ticket/"+id+"/status").contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"INPROGRESS\"}"),developer));
+        assertEquals(TicketStatus.INPROGRESS,ticketRepo.findById(id).orElseThrow().getStatus());
+
+        mvc.perform(post("/ticket/"+id+"/status").contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"RESOLVED\"}")
+                        .header("Authorization","Bearer "+token(org.developers().get(0))))
+                .andExpect(jsonPath("$.status").value(403));
+        assertEquals(TicketStatus.INPROGRESS,ticketRepo.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    void unknownStatusIsBadRequest() throws Exception{
+        mvc.perform(get("/ticket/getTickets").param("status","WAITING").header("Authorization","Bearer "+token(org.manager())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void unknownPriorityIsBadRequest() throws Exception{
+        mvc.perform(get("/ticket/getalltickets").param("priority","bogus").header("Authorization","Bearer "+token(org.manager())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    // Two managers assign from the same read: the second one gets 409 and the first assignment stands
+    @Test
+    void staleAssignIsRejected() throws Exception{
+        Ticket ticket=assignableTicket(1);
+        String first="{\"assignedToId\":"+org.developers().get(0).getId()+",\"version\":"+ticket.getVersion()+"}";
+        String second="{\"assignedToId\":"+org.developers().get(1).getId()+",\"version\":"+ticket.getVersion()+"}";
+        perform(post("/ticket/"+ticket.getId()+"/assign").contentType(MediaType.APPLICATION_JSON).content(first),org.manager());
+
+        mvc.perform(post("/ticket/"+ticket.getId()+"/assign").contentType(MediaType.APPLICATION_JSON).content(second)
+                        .header("Authorization","Bearer "+token(org.manager())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+        Ticket stored=ticketRepo.findDetailById(ticket.getId()).orElseThrow();
+        assertEquals(org.developers().get(0).getId(),stored.getAssignedTo().getId());
+        assertEquals(TicketStatus.ASSIGNED,stored.getStatus());
+        assertEquals(ticket.getVersion()+1,stored.getVersion());
+    }
+
+    @Test
+    void createTicket() throws Exception{
+        String ticket="{\"title\":\"Monitor flickers\",\"description\":\"Second screen only\",\"priority\":\"LOW\",\"status\":\"OPEN\"}";
+        QueryBudget.assertWithin("POST /ticket/createticket",4,250,()->
+                perform(multipart("/ticket/createticket")
+                        .file(new MockMultipartFile("ticket","","application/json",ticket.getBytes()))
+                        .file(new MockMultipartFile("photo","screen.png","image/png",new byte[2048])),org.clients().get(0)));
+    }
+
+    private Ticket assignableTicket(int n){
+        return ticketRepo.findById(org.assignableTicketIds().get(n)).orElseThrow();
+    }
+
+    private void perform(MockHttpServletRequestBuilder request,Users as) throws Exception{
+        cacheManager.getCacheNames().forEach(name->cacheManager.getCache(name).clear());
+        mvc.perform(request.header("Authorization","Bearer "+token(as)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    private String token(Users as){
+        return jwtUtils.generateToken(String.valueOf(as.getId()),as.getRole().name(),org.id(),org.plan().name());
+    }
+}
+
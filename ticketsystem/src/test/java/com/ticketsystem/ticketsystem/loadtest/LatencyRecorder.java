@@ -0,0 +1,56 @@
+package com.ticketsystem.ticketsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Exact per-endpoint latencies; a run of a few minutes stays well within memory
+class LatencyRecorder {
+
+    private final Map<String,Samples> samples=new ConcurrentHashMap<>();
+
+    void record(String endpoint,long nanos,boolean ok){
+        samples.computeIfAbsent(endpoint,e->new Samples()).add(nanos,ok);
+    }
+
+    Map<String,Summary> summarize(double seconds){
+        Map<String,Summary> out=new TreeMap<>();
+        samples.forEach((endpoint,s)->out.put(endpoint,s.summary(seconds)));
+        return out;
+    }
+
+    record Summary(int count,int errors,double throughput,double p50Ms,double p95Ms,double p99Ms,double maxMs){
+    }
+
+    private static final class Samples {
+        private long[] nanos=new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long value,boolean ok){
+            if(count==nanos.length){
+                nanos=Arrays.copyOf(nanos,count*2);
+            }
+            nanos[count++]=value;
+            if(!ok){
+                errors++;
+            }
+        }
+
+        synchronized Summary summary(double seconds){
+            long[] sorted=Arrays.copyOf(nanos,count);
+            Arrays.sort(sorted);
+            return new Summary(count,errors,count/seconds,percentile(sorted,0.50),percentile(sorted,0.95),percentile(sorted,0.99),
+                    count==0 ? 0 : sorted[count-1]/1e6);
+        }
+
+        private static double percentile(long[] sorted,double p){
+            if(sorted.length==0){
+                return 0;
+            }
+            int index=(int)Math.ceil(p*sorted.length)-1;
+            return sorted[Math.max(0,index)]/1e6;
+        }
+    }
+}
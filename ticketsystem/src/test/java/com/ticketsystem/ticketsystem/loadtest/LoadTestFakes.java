@@ -0,0 +1,122 @@
+package com.ticketsystem.ticketsystem.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.sun.net.httpserver.HttpServer;
+import com.ticketsystem.ticketsystem.service.KafkaMessageProducer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * In-process stand-ins for the services the app depends on. Kafka sends are acknowledged
+ * immediately, mail is counted and dropped, and the AI server answers after a fixed delay
+ * (loadtest.ai-latency-ms) to mimic model latency. Listener containers are not started, so
+ * nothing tries to reach a broker.
+ */
+@TestConfiguration
+public class LoadTestFakes {
+
+    static final LongAdder KAFKA_SENDS=new LongAdder();
+    static final LongAdder MAILS_SENT=new LongAdder();
+    static final LongAdder AI_CALLS=new LongAdder();
+
+    private static HttpServer aiServer;
+
+    // H2 alias for the Postgres advisory lock the outbox relay takes; one relay per JVM here
+    public static boolean tryAdvisoryXactLock(long key){
+        return true;
+    }
+
+    static synchronized String startAiServer(long latencyMs) throws IOException{
+        if(aiServer==null){
+            aiServer=HttpServer.create(new InetSocketAddress("127.0.0.1",0),0);
+            aiServer.createContext("/ask",exchange->{
+                try(InputStream in=exchange.getRequestBody()){
+                    in.readAllBytes();
+                }
+                try{
+                    Thread.sleep(latencyMs);
+                }catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                AI_CALLS.increment();
+                byte[] body="{\"answer\":\"Restart the VPN client and re-enter your token.\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type","application/json");
+                exchange.sendResponseHeaders(200,body.length);
+                try(OutputStream out=exchange.getResponseBody()){
+                    out.write(body);
+                }
+            });
+            aiServer.setExecutor(Executors.newCachedThreadPool());
+            aiServer.start();
+        }
+        return "http://127.0.0.1:"+aiServer.getAddress().getPort()+"/ask";
+    }
+
+    static synchronized void stopAiServer(){
+        if(aiServer!=null){
+            aiServer.stop(0);
+            aiServer=null;
+        }
+    }
+
+    @Bean
+    @Primary
+    public KafkaMessageProducer fakeKafkaProducer(){
+        AtomicLong offset=new AtomicLong();
+        return new KafkaMessageProducer(null,new SimpleMeterRegistry()){
+            @Override
+            public CompletableFuture<SendResult<String,byte[]>> send(String topic,String key,byte[] payload){
+                KAFKA_SENDS.increment();
+                RecordMetadata metadata=new RecordMetadata(new TopicPartition(topic,0),offset.getAndIncrement(),0,
+                        System.currentTimeMillis(),key!=null ? key.length() : 0,payload!=null ? payload.length : 0);
+                return CompletableFuture.completedFuture(new SendResult<>(new ProducerRecord<>(topic,key,payload),metadata));
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public JavaMailSender fakeMailSender(){
+        return new JavaMailSenderImpl(){
+            @Override
+            public void send(SimpleMailMessage... messages){
+                MAILS_SENT.add(messages.length);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor noKafkaListeners(){
+        return new BeanPostProcessor(){
+            @Override
+            public Object postProcessBeforeInitialization(Object bean,String beanName){
+                if(bean instanceof AbstractKafkaListenerContainerFactory<?,?,?> factory){
+                    factory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.ticketsystem.ticketsystem.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+import com.ticketsystem.ticketsystem.repo.UserRepo;
+
+/**
+ * Seeds N organizations of one manager, three developers and six clients (ten seats, so BASE
+ * orgs stay within their plan) and M tickets each. Every other org is PREMIUM so the AI scenario
+ * has somewhere to run. All users share one password, hashed once. Also used by the endpoint
+ * query budget tests.
+ */
+public class LoadTestSeeder {
+
+    public static final String PASSWORD="LoadTest#1";
+
+    private static final TicketStatus[] STATUSES={TicketStatus.OPEN,TicketStatus.OPEN,TicketStatus.ASSIGNED,TicketStatus.INPROGRESS,TicketStatus.RESOLVED};
+
+    // assignableTicketIds: tickets whose status may move to ASSIGNED. Assigning keeps them assignable,
+    // so the list stays valid however often the scenarios assign
+    public record SeededOrg(Long id,OrgPlans plan,Users manager,List<Users> developers,List<Users> clients,List<Long> ticketIds,
+            List<Long> assignableTicketIds){
+    }
+
+    private final OrganizationRepo orgRepo;
+    private final UserRepo userRepo;
+    private final TicketRepository ticketRepo;
+    private final PasswordEncoder encoder;
+
+    public LoadTestSeeder(OrganizationRepo orgRepo,UserRepo userRepo,TicketRepository ticketRepo,PasswordEncoder encoder){
+        this.orgRepo=orgRepo;
+        this.userRepo=userRepo;
+        this.ticketRepo=ticketRepo;
+        this.encoder=encoder;
+    }
+
+    public List<SeededOrg> seed(int orgs,int ticketsPerOrg,long seed){
+        Random random=new Random(seed);
+        String hash=encoder.encode(PASSWORD);
+        LocalDateTime now=LocalDateTime.now();
+        List<SeededOrg> seeded=new ArrayList<>(orgs);
+        for(int o=0;o<orgs;o++){
+            OrgPlans plan=o%2==0 ? OrgPlans.PREMIUM : OrgPlans.BASE;
+            Organization org=orgRepo.save(new Organization(null,"Load Org "+o,"admin"+o+"@load.test","Street "+o,hash,5550000L+o,"IT",plan,now,10));
+
+            Users manager=user(org,"Manager "+o,"manager"+o+"@load.test",hash,now,Role.MANAGER);
+            List<Users> developers=new ArrayList<>();
+            for(int d=0;d<3;d++){
+                developers.add(user(org,"Developer "+o+"-"+d,"dev"+o+"-"+d+"@load.test",hash,now,Role.DEVELOPER));
+            }
+            List<Users> clients=new ArrayList<>();
+            for(int c=0;c<6;c++){
+                clients.add(user(org,"Client "+o+"-"+c,"client"+o+"-"+c+"@load.test",hash,now,Role.CLIENT));
+            }
+            List<Users> all=new ArrayList<>();
+            all.add(manager);
+            all.addAll(developers);
+            all.addAll(clients);
+            userRepo.saveAll(all);
+
+            List<Ticket> tickets=new ArrayList<>(ticketsPerOrg);
+            for(int t=0;t<ticketsPerOrg;t++){
+                Ticket ticket=new Ticket();
+                ticket.setOrganization(org);
+                ticket.setTitle("Seeded ticket "+t+" for org "+o);
+                ticket.setDescription("Printer on floor "+random.nextInt(12)+" shows error E"+random.nextInt(100)+" after toner change.");
+                ticket.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                ticket.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+                ticket.setClient(clients.get(random.nextInt(clients.size())));
+                if(ticket.getStatus()!=TicketStatus.OPEN){
+                    ticket.setAssignedTo(developers.get(random.nextInt(developers.size())));
+                    ticket.setAssignedBy(manager);
+                }
+                ticket.setCreatedAt(now.minusHours(random.nextInt(2000)));
+                ticket.setDueDate(now.plusDays(random.nextInt(30)-5));
+                ticket.setPhotoPath(new ArrayList<>());
+                tickets.add(ticket);
+            }
+            List<Long> ticketIds=new ArrayList<>(ticketsPerOrg);
+            List<Long> assignableTicketIds=new ArrayList<>();
+            for(int from=0;from<tickets.size();from+=500){
+                for(Ticket saved:ticketRepo.saveAll(tickets.subList(from,Math.min(from+500,tickets.size())))){
+                    ticketIds.add(saved.getId());
+                    if(saved.getStatus().canMoveTo(TicketStatus.ASSIGNED)){
+                        assignableTicketIds.add(saved.getId());
+                    }
+                }
+            }
+            seeded.add(new SeededOrg(org.getId(),plan,manager,developers,clients,ticketIds,assignableTicketIds));
+        }
+        return seeded;
+    }
+
+    private static Users user(Organization org,String name,String email,String hash,LocalDateTime now,Role role){
+        return new Users(null,org,name,email,hash,now,role);
+    }
+}
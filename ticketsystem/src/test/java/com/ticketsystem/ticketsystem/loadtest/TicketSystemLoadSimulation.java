@@ -0,0 +1,325 @@
+package com.ticketsystem.ticketsystem.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Priority;
+import com.ticketsystem.ticketsystem.loadtest.LoadTestSeeder.SeededOrg;
+import com.ticketsystem.ticketsystem.repo.OrganizationRepo;
+import com.ticketsystem.ticketsystem.repo.TicketRepository;
+import com.ticketsystem.ticketsystem.repo.UserRepo;
+import com.ticketsystem.ticketsystem.utils.JwtUtils;
+
+/**
+ * Mixed-traffic load test against the full app on a random port. Not part of the normal test run;
+ * start it with the loadtest profile and tune it with system properties:
+ *
+ *   mvn -Ploadtest test -Dloadtest.users=64 -Dloadtest.duration-seconds=120
+ *
+ * loadtest.orgs / loadtest.tickets   seeded organizations and tickets per organization (10 / 500)
+ * loadtest.users                     concurrent virtual users, one thread each (32)
+ * loadtest.warmup-seconds            unrecorded warm-up before measuring (10)
+ * loadtest.duration-seconds          measured run (60)
+ * loadtest.mix                       scenario weights (login=5,list=35,create=10,assign=10,comment=30,ai=10)
+ * loadtest.ai-latency-ms             fake AI server response time (150)
+ * loadtest.photo-bytes               size of each uploaded photo (65536)
+ * loadtest.max-error-rate            fails the run above this share of failed requests (0.01)
+ *
+ * Per-endpoint throughput and p50/p95/p99 latency are printed and written to target/loadtest-report.txt.
+ */
+@SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(LoadTestFakes.class)
+class TicketSystemLoadSimulation {
+
+    private static final int ORGS=Integer.getInteger("loadtest.orgs",10);
+    private static final int TICKETS=Integer.getInteger("loadtest.tickets",500);
+    private static final int USERS=Integer.getInteger("loadtest.users",32);
+    private static final int WARMUP_SECONDS=Integer.getInteger("loadtest.warmup-seconds",10);
+    private static final int DURATION_SECONDS=Integer.getInteger("loadtest.duration-seconds",60);
+    private static final String MIX=System.getProperty("loadtest.mix","login=5,list=35,create=10,assign=10,comment=30,ai=10");
+    private static final long AI_LATENCY_MS=Long.getLong("loadtest.ai-latency-ms",150);
+    private static final int PHOTO_BYTES=Integer.getInteger("loadtest.photo-bytes",65536);
+    private static final double MAX_ERROR_RATE=Double.parseDouble(System.getProperty("loadtest.max-error-rate","0.01"));
+    private static final long SEED=42;
+
+    @DynamicPropertySource
+    static void fakeAiServer(DynamicPropertyRegistry registry){
+        registry.add("app.ai.url",()->{
+            try{
+                return LoadTestFakes.startAiServer(AI_LATENCY_MS);
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @AfterAll
+    static void stopFakes(){
+        LoadTestFakes.stopAiServer();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrganizationRepo orgRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TicketRepository ticketRepo;
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final HttpClient http=HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+    private List<SeededOrg> orgs;
+    private List<SeededOrg> premiumOrgs;
+    private Map<Long,String> tokens;
+    private byte[] photo;
+
+    @Test
+    void mixedTraffic() throws Exception{
+        long seedStart=System.nanoTime();
+        orgs=new LoadTestSeeder(orgRepo,userRepo,ticketRepo,encoder).seed(ORGS,TICKETS,SEED);
+        premiumOrgs=orgs.stream().filter(o->o.plan()==OrgPlans.PREMIUM).toList();
+        tokens=new LinkedHashMap<>();
+        for(SeededOrg org:orgs){
+            for(Users user:users(org)){
+                tokens.put(user.getId(),jwtUtils.generateToken(String.valueOf(user.getId()),user.getRole().name(),org.id(),org.plan().name()));
+            }
+        }
+        photo=new byte[PHOTO_BYTES];
+        new Random(SEED).nextBytes(photo);
+        System.out.printf("Seeded %d orgs x %d tickets in %.1f s%n",ORGS,TICKETS,(System.nanoTime()-seedStart)/1e9);
+
+        List<Scenario> weighted=Scenario.parse(MIX,!premiumOrgs.isEmpty());
+        run(weighted,WARMUP_SECONDS,new LatencyRecorder());
+        long kafkaBefore=LoadTestFakes.KAFKA_SENDS.sum();
+        long mailsBefore=LoadTestFakes.MAILS_SENT.sum();
+        long aiBefore=LoadTestFakes.AI_CALLS.sum();
+        LatencyRecorder recorder=new LatencyRecorder();
+        run(weighted,DURATION_SECONDS,recorder);
+
+        Map<String,LatencyRecorder.Summary> summary=recorder.summarize(DURATION_SECONDS);
+        String report=report(summary,LoadTestFakes.KAFKA_SENDS.sum()-kafkaBefore,LoadTestFakes.MAILS_SENT.sum()-mailsBefore,
+                LoadTestFakes.AI_CALLS.sum()-aiBefore);
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target","loadtest-report.txt"),report);
+
+        int requests=summary.values().stream().mapToInt(LatencyRecorder.Summary::count).sum();
+        int errors=summary.values().stream().mapToInt(LatencyRecorder.Summary::errors).sum();
+        assertTrue(requests>0,"no requests completed");
+        assertTrue(errors<=requests*MAX_ERROR_RATE,errors+" of "+requests+" requests failed");
+    }
+
+    private void run(List<Scenario> weighted,int seconds,LatencyRecorder recorder) throws InterruptedException{
+        long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService users=Executors.newFixedThreadPool(USERS);
+        for(int i=0;i<USERS;i++){
+            Random random=new Random(SEED+i);
+            users.submit(()->{
+                while(System.nanoTime()<deadline){
+                    Scenario scenario=weighted.get(random.nextInt(weighted.size()));
+                    long start=System.nanoTime();
+                    boolean ok;
+                    try{
+                        ok=execute(scenario,random);
+                    }catch(IOException e){
+                        ok=false;
+                    }catch(InterruptedException e){
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    recorder.record(scenario.endpoint,System.nanoTime()-start,ok);
+                }
+            });
+        }
+        users.shutdown();
+        if(!users.awaitTermination(seconds+60L,TimeUnit.SECONDS)){
+            users.shutdownNow();
+        }
+    }
+
+    private boolean execute(Scenario scenario,Random random) throws IOException,InterruptedException{
+        SeededOrg org=scenario==Scenario.AI ? premiumOrgs.get(random.nextInt(premiumOrgs.size())) : orgs.get(random.nextInt(orgs.size()));
+        switch(scenario){
+            case LOGIN:{
+                List<Users> users=users(org);
+                Users user=users.get(random.nextInt(users.size()));
+                String body="{\"email\":\""+user.getEmail()+"\",\"password\":\""+LoadTestSeeder.PASSWORD+"\"}";
+                return send(HttpRequest.newBuilder(uri("/auth/login")).header("Content-Type","application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)),null);
+            }
+            case LIST:{
+                String query=random.nextInt(3)==0 ? "" : "?priority="+Priority.values()[random.nextInt(Priority.values().length)];
+                return send(HttpRequest.newBuilder(uri("/ticket/getalltickets"+query)).GET(),org.manager());
+            }
+            case CREATE:{
+                Users client=org.clients().get(random.nextInt(org.clients().size()));
+                int photos=1+random.nextInt(org.plan().getMaxPhotosPerTicket()>2 ? 3 : 2);
+                String boundary="loadtest"+Long.toHexString(random.nextLong());
+                return send(HttpRequest.newBuilder(uri("/ticket/createticket")).header("Content-Type","multipart/form-data; boundary="+boundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(ticketForm(boundary,photos,random))),client);
+            }
+            case ASSIGN:{
+                // RESOLVED tickets cannot be assigned (409), so only assignable ones are picked
+                Long ticketId=org.assignableTicketIds().get(random.nextInt(org.assignableTicketIds().size()));
+                Users developer=org.developers().get(random.nextInt(org.developers().size()));
+                return send(HttpRequest.newBuilder(uri("/ticket/"+ticketId+"/assign")).header("Content-Type","application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"assignedToId\":"+developer.getId()+"}")),org.manager());
+            }
+            case COMMENT:{
+                Long ticketId=org.ticketIds().get(random.nextInt(org.ticketIds().size()));
+                List<Users> users=users(org);
+                String body="{\"comment\":\"Checked again at "+LocalDateTime.now()+", still failing on floor "+random.nextInt(12)+".\"}";
+                return send(HttpRequest.newBuilder(uri("/ticket/"+ticketId+"/comment")).header("Content-Type","application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)),users.get(random.nextInt(users.size())));
+            }
+            case AI:{
+                return send(HttpRequest.newBuilder(uri("/aichats/ask")).header("Content-Type","text/plain")
+                        .POST(HttpRequest.BodyPublishers.ofString("How many urgent tickets are still open?")),org.manager());
+            }
+            default:
+                throw new IllegalStateException(scenario.name());
+        }
+    }
+
+    // Errors come back as HTTP 200 with an ApiError body (GlobalExceptionHandler), so the body is checked too
+    private boolean send(HttpRequest.Builder request,Users as) throws IOException,InterruptedException{
+        if(as!=null){
+            request.header("Authorization","Bearer "+tokens.get(as.getId()));
+        }
+        HttpResponse<String> response=http.send(request.timeout(Duration.ofSeconds(30)).build(),HttpResponse.BodyHandlers.ofString());
+        return response.statusCode()<300 && response.body().contains("\"success\":true");
+    }
+
+    private byte[] ticketForm(String boundary,int photos,Random random) throws IOException{
+        ByteArrayOutputStream out=new ByteArrayOutputStream(photos*PHOTO_BYTES+1024);
+        String ticket="{\"title\":\"VPN drops every few minutes\",\"description\":\"Started after the update on laptop "+random.nextInt(900)
+                +"\",\"priority\":\""+Priority.values()[random.nextInt(Priority.values().length)]+"\",\"status\":\"OPEN\",\"dueDate\":\""
+                +LocalDateTime.now().plusDays(3).withNano(0)+"\"}";
+        part(out,boundary,"Content-Disposition: form-data; name=\"ticket\"\r\nContent-Type: application/json",ticket.getBytes(StandardCharsets.UTF_8));
+        for(int i=0;i<photos;i++){
+            part(out,boundary,"Content-Disposition: form-data; name=\"photo\"; filename=\"screen shot "+i+".png\"\r\nContent-Type: image/png",photo);
+        }
+        out.write(("--"+boundary+"--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static void part(ByteArrayOutputStream out,String boundary,String headers,byte[] content) throws IOException{
+        out.write(("--"+boundary+"\r\n"+headers+"\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private URI uri(String path){
+        return URI.create("http://localhost:"+port+path);
+    }
+
+    private static List<Users> users(SeededOrg org){
+        List<Users> users=new ArrayList<>();
+        users.add(org.manager());
+        users.addAll(org.developers());
+        users.addAll(org.clients());
+        return users;
+    }
+
+    private static String report(Map<String,LatencyRecorder.Summary> summary,long kafkaSends,long mails,long aiCalls){
+        StringBuilder out=new StringBuilder();
+        out.append(String.format(Locale.ROOT,"%nLoad test: %d orgs x %d tickets, %d virtual users, %d s measured after %d s warm-up, mix %s%n",
+                ORGS,TICKETS,USERS,DURATION_SECONDS,WARMUP_SECONDS,MIX));
+        out.append(String.format(Locale.ROOT,"%-36s %9s %7s %9s %9s %9s %9s %9s%n","endpoint","requests","errors","req/s","p50 ms","p95 ms","p99 ms","max ms"));
+        int total=0;
+        for(Map.Entry<String,LatencyRecorder.Summary> entry:summary.entrySet()){
+            LatencyRecorder.Summary s=entry.getValue();
+            total+=s.count();
+            out.append(String.format(Locale.ROOT,"%-36s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",entry.getKey(),s.count(),s.errors(),s.throughput(),
+                    s.p50Ms(),s.p95Ms(),s.p99Ms(),s.maxMs()));
+        }
+        out.append(String.format(Locale.ROOT,"total %d requests, %.1f req/s; kafka sends %d, mails %d, AI calls %d%n",total,
+                (double)total/DURATION_SECONDS,kafkaSends,mails,aiCalls));
+        return out.toString();
+    }
+
+    enum Scenario {
+        LOGIN("login","POST /auth/login"),
+        LIST("list","GET /ticket/getalltickets"),
+        CREATE("create","POST /ticket/createticket"),
+        ASSIGN("assign","POST /ticket/{id}/assign"),
+        COMMENT("comment","POST /ticket/{id}/comment"),
+        AI("ai","POST /aichats/ask");
+
+        final String key;
+        final String endpoint;
+
+        Scenario(String key,String endpoint){
+            this.key=key;
+            this.endpoint=endpoint;
+        }
+
+        // Expands "login=5,list=35,..." into a list with each scenario repeated by its weight
+        static List<Scenario> parse(String mix,boolean withAi){
+            List<Scenario> weighted=new ArrayList<>();
+            for(String entry:mix.split(",")){
+                String[] kv=entry.trim().split("=");
+                Scenario scenario=null;
+                for(Scenario candidate:values()){
+                    if(candidate.key.equals(kv[0].trim())){
+                        scenario=candidate;
+                    }
+                }
+                if(scenario==null){
+                    throw new IllegalArgumentException("Unknown scenario in loadtest.mix: "+kv[0]);
+                }
+                if(scenario==AI && !withAi){
+                    continue;
+                }
+                for(int i=Integer.parseInt(kv[1].trim());i>0;i--){
+                    weighted.add(scenario);
+                }
+            }
+            return weighted;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.ticketsystem.ticketsystem.dto.CommentResponse;
+import com.ticketsystem.ticketsystem.entity.Comments;
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+
+// With several nodes each drawing its own block from comments_seq, a later comment can have a lower id
+@DataJpaTest
+class CommentPagingTest {
+
+    @Autowired
+    private CommentRepo commentRepo;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void pagesFollowCommentTimeNotId(){
+        Organization org=em.persist(new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1));
+        Users client=em.persist(new Users(null,org,"Client","client@acme.test","secret",LocalDateTime.now(),Role.CLIENT));
+        Ticket ticket=new Ticket();
+        ticket.setOrganization(org);
+        ticket.setClient(client);
+        ticket.setTitle("Printer");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setCreatedAt(LocalDateTime.now());
+        em.persist(ticket);
+
+        // Ids ascend in insert order here; the times say the last two were written first, by another node
+        LocalDateTime start=LocalDateTime.of(2026,1,1,12,0);
+        Long third=comment(ticket,client,"third",start.plusMinutes(3));
+        Long fourth=comment(ticket,client,"fourth",start.plusMinutes(4));
+        Long first=comment(ticket,client,"first",start.plusMinutes(1));
+        Long second=comment(ticket,client,"second",start.plusMinutes(2));
+        em.flush();
+        em.clear();
+
+        List<CommentResponse> newest=commentRepo.findLatestPage(ticket.getId(),PageRequest.of(0,2));
+        assertEquals(List.of(fourth,third),ids(newest));
+
+        List<CommentResponse> older=commentRepo.findPageBefore(ticket.getId(),newest.get(1).getId(),PageRequest.of(0,2));
+        assertEquals(List.of(second,first),ids(older));
+    }
+
+    private Long comment(Ticket ticket,Users author,String text,LocalDateTime at){
+        Comments comment=new Comments();
+        comment.setTicket(ticket);
+        comment.setCommentedBy(author);
+        comment.setComment(text);
+        comment.setLastUpdated(at);
+        return em.persist(comment).getId();
+    }
+
+    private static List<Long> ids(List<CommentResponse> page){
+        return page.stream().map(CommentResponse::getId).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.service.DataBackfill;
+
+// backfillPhotoPaths is Postgres SQL (varchar[] and to_jsonb), so it runs against a real Postgres rather than H2
+@DataJpaTest
+@AutoConfigureTestDatabase(replace=AutoConfigureTestDatabase.Replace.NONE)
+@Import(DataBackfill.class)
+@Testcontainers(disabledWithoutDocker=true)
+class PhotoPathsBackfillTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres=new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TicketRepository ticketRepo;
+
+    @Autowired
+    private DataBackfill dataBackfill;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void copiesOldPhotoPathArraysIntoTheJsonColumn(){
+        // The column Hibernate mapped before Ticket.photoPath became JSON
+        jdbcTemplate.execute("ALTER TABLE ticket ADD COLUMN IF NOT EXISTS photo_path varchar(255)[]");
+        Organization org=em.persist(new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1));
+        Users client=em.persist(new Users(null,org,"Client","client@acme.test","secret",LocalDateTime.now(),Role.CLIENT));
+        List<String> photos=List.of(
+                "http://localhost:8080/uploads/screen shot 1.png",
+                "http://localhost:8080/uploads/\"quoted\" name's.png",
+                "http://localhost:8080/uploads/back\\slash, comma {1}.png",
+                "http://localhost:8080/uploads/ümlaut.png");
+        Long oldFormat=ticket(org,client,null);
+        Long noPhotos=ticket(org,client,null);
+        Long alreadyCopied=ticket(org,client,List.of("http://localhost:8080/uploads/new.png"));
+        em.flush();
+        setOldPhotoPath(oldFormat,photos);
+        setOldPhotoPath(alreadyCopied,List.of("http://localhost:8080/uploads/old.png"));
+
+        // Switched on here rather than through app.migrations.photo-paths, which would run it at startup before the rows exist
+        ReflectionTestUtils.setField(dataBackfill,"photoPaths",true);
+        dataBackfill.run(null);
+        em.clear();
+
+        assertEquals(photos,ticketRepo.findById(oldFormat).orElseThrow().getPhotoPath());
+        assertNull(ticketRepo.findById(noPhotos).orElseThrow().getPhotoPath());
+        assertEquals(List.of("http://localhost:8080/uploads/new.png"),ticketRepo.findById(alreadyCopied).orElseThrow().getPhotoPath());
+    }
+
+    private Long ticket(Organization org,Users client,List<String> photoPath){
+        Ticket ticket=new Ticket();
+        ticket.setOrganization(org);
+        ticket.setClient(client);
+        ticket.setTitle("Printer");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setCreatedAt(LocalDateTime.now());
+        ticket.setPhotoPath(photoPath);
+        return em.persist(ticket).getId();
+    }
+
+    private void setOldPhotoPath(Long ticketId,List<String> photos){
+        jdbcTemplate.update(connection->{
+            PreparedStatement statement=connection.prepareStatement("UPDATE ticket SET photo_path = ? WHERE id = ?");
+            statement.setArray(1,connection.createArrayOf("varchar",photos.toArray()));
+            statement.setLong(2,ticketId);
+            return statement;
+        });
+    }
+}
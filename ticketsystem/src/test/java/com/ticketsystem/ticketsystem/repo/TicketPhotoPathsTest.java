@@ -0,0 +1,53 @@
+package com.ticketsystem.ticketsystem.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+
+// photo_paths is a JSON column; URLs must come back exactly as stored, whatever characters they contain
+@DataJpaTest
+class TicketPhotoPathsTest {
+
+    @Autowired
+    private TicketRepository ticketRepo;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void photoUrlsRoundTripThroughTheJsonColumn(){
+        Organization org=em.persist(new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1));
+        Users client=em.persist(new Users(null,org,"Client","client@acme.test","secret",LocalDateTime.now(),Role.CLIENT));
+        List<String> photos=List.of(
+                "http://localhost:8080/uploads/screen shot 1.png",
+                "http://localhost:8080/uploads/\"quoted\" name's.png",
+                "http://localhost:8080/uploads/back\\slash, comma [1].png",
+                "http://localhost:8080/uploads/ümlaut.png");
+
+        Ticket ticket=new Ticket();
+        ticket.setOrganization(org);
+        ticket.setClient(client);
+        ticket.setTitle("Printer");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setCreatedAt(LocalDateTime.now());
+        ticket.setPhotoPath(photos);
+        Long id=ticketRepo.save(ticket).getId();
+        em.flush();
+        em.clear();
+
+        assertEquals(photos,ticketRepo.findById(id).orElseThrow().getPhotoPath());
+    }
+}
@@ -0,0 +1,109 @@
+package com.ticketsystem.ticketsystem.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.ticketsystem.ticketsystem.config.JdbcBatchConfig;
+import com.ticketsystem.ticketsystem.entity.Comments;
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inserts 10k tickets and 10k comments the way the bulk paths do (persist, flush and clear every
+ * 500 rows) and reports rows per second and JDBC statements. Run on its own to see the numbers:
+ * mvn test -Dtest=BulkInsertThroughputTest
+ */
+@DataJpaTest(properties="spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JdbcBatchConfig.class)
+class BulkInsertThroughputTest {
+
+    private static final int ROWS=10_000;
+    private static final int FLUSH_EVERY=500;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+    private Organization org;
+    private Users user;
+
+    @BeforeEach
+    void setUp(){
+        org=new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1);
+        em.persist(org);
+        user=new Users(null,org,"Dev","dev@acme.test","secret",LocalDateTime.now(),Role.DEVELOPER);
+        em.persist(user);
+        em.flush();
+        stats=emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void ticketsAndCommentsAreInsertedInJdbcBatches(){
+        stats.clear();
+        long start=System.nanoTime();
+        Ticket last=null;
+        for(int i=0;i<ROWS;i++){
+            Ticket ticket=new Ticket();
+            ticket.setOrganization(org);
+            ticket.setClient(user);
+            ticket.setTitle("Ticket "+i);
+            ticket.setStatus(TicketStatus.OPEN);
+            ticket.setCreatedAt(LocalDateTime.now());
+            em.persist(ticket);
+            last=ticket;
+            flushEvery(i);
+        }
+        long ticketStatements=report("tickets",start);
+        assertTrue(ticketStatements<=2L*ROWS/50,"tickets issued "+ticketStatements+" statements for "+ROWS+" rows");
+
+        Ticket ticket=em.getEntityManager().getReference(Ticket.class,last.getId());
+        Users author=em.getEntityManager().getReference(Users.class,user.getId());
+        stats.clear();
+        start=System.nanoTime();
+        for(int i=0;i<ROWS;i++){
+            Comments comment=new Comments();
+            comment.setTicket(ticket);
+            comment.setCommentedBy(author);
+            comment.setComment("Comment "+i);
+            comment.setLastUpdated(LocalDateTime.now());
+            em.persist(comment);
+            flushEvery(i);
+        }
+        long statements=report("comments",start);
+        assertTrue(statements<=2L*ROWS/50,"comments issued "+statements+" statements for "+ROWS+" rows");
+    }
+
+    private void flushEvery(int i){
+        if((i+1)%FLUSH_EVERY==0){
+            em.flush();
+            em.clear();
+        }
+    }
+
+    private long report(String what,long start){
+        em.flush();
+        double seconds=(System.nanoTime()-start)/1e9;
+        long statements=stats.getPrepareStatementCount();
+        System.out.printf("%d %s: %.0f rows/s, %d JDBC statements%n",ROWS,what,ROWS/seconds,statements);
+        return statements;
+    }
+}
@@ -0,0 +1,134 @@
+package com.ticketsystem.ticketsystem.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.ticketsystem.ticketsystem.config.JdbcBatchConfig;
+import com.ticketsystem.ticketsystem.entity.Comments;
+import com.ticketsystem.ticketsystem.entity.Organization;
+import com.ticketsystem.ticketsystem.entity.Ticket;
+import com.ticketsystem.ticketsystem.entity.Users;
+import com.ticketsystem.ticketsystem.enums.OrgPlans;
+import com.ticketsystem.ticketsystem.enums.Role;
+import com.ticketsystem.ticketsystem.enums.TicketStatus;
+import com.ticketsystem.ticketsystem.exception.BatchTooLargeException;
+import com.ticketsystem.ticketsystem.exception.TicketNotFoundException;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements issued per comment by the write path. Run on its own to see the
+ * numbers: mvn test -Dtest=CommentWriteStatementCountTest
+ */
+@DataJpaTest(properties="spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CommentService.class,TicketEventPublisher.class,OutboxService.class,JdbcBatchConfig.class})
+class CommentWriteStatementCountTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @MockitoBean
+    private TicketVersionService ticketVersions;
+
+    private Statistics stats;
+    private Organization org;
+    private Users user;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp(){
+        org=new Organization(null,"Acme","admin@acme.test","Street 1","secret",12345L,"IT",OrgPlans.BASE,LocalDateTime.now(),1);
+        em.persist(org);
+        user=new Users(null,org,"Dev","dev@acme.test","secret",LocalDateTime.now(),Role.DEVELOPER);
+        em.persist(user);
+        ticket=new Ticket();
+        ticket.setOrganization(org);
+        ticket.setClient(user);
+        ticket.setTitle("Printer on fire");
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setCreatedAt(LocalDateTime.now());
+        em.persist(ticket);
+        // Takes the first pooled comment id block, so the counts below hold no sequence calls
+        Comments first=comment("opened");
+        first.setTicket(ticket);
+        em.persist(first);
+        em.flush();
+        em.clear();
+
+        stats=emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void singleCommentUsesExistenceCheckInsertCounterUpdateAndOutboxRow(){
+        commentService.addCommentService(ticket.getId(),user.getId(),org.getId(),comment("first"));
+
+        long statements=stats.getPrepareStatementCount();
+        System.out.println("single comment: "+statements+" SQL statements, "+stats.getEntityLoadCount()+" entity loads");
+        assertEquals(4,statements);
+        assertEquals(0,stats.getEntityLoadCount());
+    }
+
+    @Test
+    void batchSharesTheCheckAndCounterUpdate(){
+        int size=20;
+        List<Comments> comments=new ArrayList<>();
+        for(int i=0;i<size;i++){
+            comments.add(comment("comment "+i));
+        }
+
+        assertEquals(size,commentService.addCommentsService(ticket.getId(),user.getId(),org.getId(),comments));
+
+        long statements=stats.getPrepareStatementCount();
+        System.out.printf("batch of %d: %d SQL statements (%.2f per comment)%n",size,statements,(double)statements/size);
+        // Existence check, one batched comment insert, counter update, then an outbox row per comment
+        assertTrue(statements<=3+size);
+        assertEquals(0,stats.getEntityLoadCount());
+
+        em.clear();
+        assertEquals(size,em.find(Ticket.class,ticket.getId()).getCommentCount());
+    }
+
+    @Test
+    void rejectsTicketFromAnotherOrg(){
+        assertThrows(TicketNotFoundException.class,
+                ()->commentService.addCommentService(ticket.getId(),user.getId(),org.getId()+1,comment("nope")));
+    }
+
+    @Test
+    void rejectsOversizedBatchBeforeTouchingTheDatabase(){
+        List<Comments> comments=new ArrayList<>();
+        for(int i=0;i<=100;i++){
+            comments.add(comment("comment "+i));
+        }
+        assertThrows(BatchTooLargeException.class,()->commentService.addCommentsService(ticket.getId(),user.getId(),org.getId(),comments));
+        assertEquals(0,stats.getPrepareStatementCount());
+    }
+
+    private static Comments comment(String text){
+        Comments comment=new Comments();
+        comment.setComment(text);
+        return comment;
+    }
+}
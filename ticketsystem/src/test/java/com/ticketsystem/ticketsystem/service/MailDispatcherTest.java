@@ -0,0 +1,116 @@
+package com.ticketsystem.ticketsystem.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.ticketsystem.ticketsystem.entity.QueuedEmail;
+import com.ticketsystem.ticketsystem.enums.EmailStatus;
+import com.ticketsystem.ticketsystem.repo.QueuedEmailRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail=new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private QueuedEmailRepo queueRepo;
+    private JavaMailSenderImpl mailSender;
+    private SimpleMeterRegistry registry;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp(){
+        queueRepo=mock(QueuedEmailRepo.class);
+        mailSender=new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        registry=new SimpleMeterRegistry();
+
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.initialize();
+        PlatformTransactionManager transactionManager=mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        dispatcher=new MailDispatcher(queueRepo,mailSender,executor,transactionManager,registry);
+        ReflectionTestUtils.setField(dispatcher,"sendFrom","noreply@intellidesk.test");
+    }
+
+    @Test
+    void sendsWholeBatchAndMarksRowsSent() throws Exception{
+        List<QueuedEmail> batch=pending(3);
+        when(queueRepo.claimPendingBatch(any(),anyInt())).thenReturn(batch).thenReturn(List.of());
+
+        dispatcher.drain();
+
+        assertEquals(3,greenMail.getReceivedMessages().length);
+        assertEquals("Subject 2",greenMail.getReceivedMessages()[2].getSubject());
+        for(QueuedEmail email:batch){
+            assertEquals(EmailStatus.SENT,email.getStatus());
+            assertNotNull(email.getSentAt());
+        }
+        assertEquals(3.0,registry.counter("mail.sent").count());
+        assertEquals(1,registry.timer("mail.send.latency").count());
+    }
+
+    @Test
+    void unreachableServerReschedulesWithBackoffThenFails(){
+        mailSender.setPort(1);
+        ReflectionTestUtils.setField(dispatcher,"maxAttempts",2);
+        List<QueuedEmail> batch=pending(2);
+        when(queueRepo.claimPendingBatch(any(),anyInt())).thenReturn(batch);
+
+        LocalDateTime before=LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        for(QueuedEmail email:batch){
+            assertEquals(EmailStatus.PENDING,email.getStatus());
+            assertEquals(1,email.getAttempts());
+            assertTrue(email.getNextAttemptAt().isAfter(before.plusSeconds(20)));
+            assertNotNull(email.getLastError());
+        }
+
+        dispatcher.dispatchBatch();
+
+        for(QueuedEmail email:batch){
+            assertEquals(EmailStatus.FAILED,email.getStatus());
+        }
+        assertEquals(2.0,registry.counter("mail.failed").count());
+        assertEquals(0,greenMail.getReceivedMessages().length);
+    }
+
+    private static List<QueuedEmail> pending(int count){
+        List<QueuedEmail> emails=new ArrayList<>();
+        for(int i=0;i<count;i++){
+            QueuedEmail email=new QueuedEmail();
+            email.setId((long)i);
+            email.setRecipient("user"+i+"@intellidesk.test");
+            email.setSubject("Subject "+i);
+            email.setBody("Body "+i);
+            email.setStatus(EmailStatus.PENDING);
+            email.setCreatedAt(LocalDateTime.now());
+            email.setNextAttemptAt(email.getCreatedAt());
+            emails.add(email);
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ticketsystem.ticketsystem.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.ticketsystem.ticketsystem.entity.OutboxEvent;
+import com.ticketsystem.ticketsystem.repo.OutboxEventRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepo outboxRepo;
+    private KafkaMessageProducer producer;
+    private SimpleMeterRegistry registry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp(){
+        outboxRepo=mock(OutboxEventRepo.class);
+        producer=mock(KafkaMessageProducer.class);
+        registry=new SimpleMeterRegistry();
+        PlatformTransactionManager transactionManager=mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        relay=new OutboxRelay(outboxRepo,producer,transactionManager,registry);
+        ReflectionTestUtils.setField(relay,"maxAttempts",3);
+        when(outboxRepo.tryRelayLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void failedSendHoldsBackLaterEventsOfThatOrgOnly(){
+        OutboxEvent failing=event(1L,10L,0);
+        OutboxEvent heldBack=event(2L,10L,0);
+        OutboxEvent other=event(3L,20L,0);
+        when(outboxRepo.findUnpublishedBatch(anyInt())).thenReturn(List.of(failing,heldBack,other));
+        when(producer.send(any(),eq("1"),any())).thenReturn(failed());
+        when(producer.send(any(),eq("2"),any())).thenReturn(acked());
+        when(producer.send(any(),eq("3"),any())).thenReturn(acked());
+
+        assertEquals(1,relay.relayBatch());
+
+        verify(outboxRepo).claim(eq(List.of(1L,2L,3L)),notNull());
+        verify(outboxRepo).markPublished(eq(List.of(3L)),any());
+        verify(outboxRepo).recordFailure(eq(1L),eq(1),eq("java.lang.IllegalStateException: broker down"),isNull());
+        verify(outboxRepo).releaseClaims(List.of(1L,2L,3L));
+        assertEquals(1.0,registry.counter("outbox.retried").count());
+        assertEquals(0.0,registry.counter("outbox.failed").count());
+    }
+
+    @Test
+    void eventOutOfAttemptsIsMarkedFailed(){
+        when(outboxRepo.findUnpublishedBatch(anyInt())).thenReturn(List.of(event(1L,10L,2)));
+        when(producer.send(any(),any(),any())).thenReturn(failed());
+
+        assertEquals(0,relay.relayBatch());
+
+        verify(outboxRepo).recordFailure(eq(1L),eq(3),any(),notNull());
+        assertEquals(1.0,registry.counter("outbox.failed").count());
+        assertEquals(0.0,registry.counter("outbox.retried").count());
+    }
+
+    @Test
+    void nothingIsClaimedWhileAnotherBatchIsInFlight(){
+        when(outboxRepo.hasClaimedEvents(any(LocalDateTime.class))).thenReturn(true);
+
+        assertEquals(0,relay.relayBatch());
+
+        verify(outboxRepo,never()).findUnpublishedBatch(anyInt());
+        verify(producer,never()).send(any(),any(),any());
+    }
+
+    private static OutboxEvent event(Long id,Long orgId,int attempts){
+        OutboxEvent event=new OutboxEvent();
+        event.setId(id);
+        event.setOrgId(orgId);
+        event.setTopic(KafkaMessageProducer.ORGANIZATION_TOPIC);
+        event.setEventKey(String.valueOf(id));
+        event.setPayload(new byte[0]);
+        event.setAttempts(attempts);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private static CompletableFuture<SendResult<String,byte[]>> acked(){
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CompletableFuture<SendResult<String,byte[]>> failed(){
+        return CompletableFuture.failedFuture(new IllegalStateException("broker down"));
+    }
+}
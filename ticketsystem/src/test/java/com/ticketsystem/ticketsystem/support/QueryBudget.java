@@ -0,0 +1,63 @@
+package com.ticketsystem.ticketsystem.support;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import com.ticketsystem.ticketsystem.config.SqlStatementCounter;
+
+/**
+ * Measures one unit of work (usually a MockMvc request, which runs on the calling thread) by the
+ * SQL statements Hibernate prepares for it and its median wall time, and asserts both against a
+ * budget. Statements are counted by SqlStatementCounter, so JdbcTemplate calls and work handed
+ * to other threads (outbox relay, mail dispatcher, app.reads.fan-out sub-queries) are not included.
+ *
+ * Statement budgets are always enforced. Latency budgets are wall-clock and would be flaky on shared CI, so
+ * they are only printed unless -Dquerybudget.check-latency=true; -Dquerybudget.latency-factor (default 1)
+ * scales them for slow machines.
+ */
+public final class QueryBudget {
+
+    private static final boolean CHECK_LATENCY=Boolean.getBoolean("querybudget.check-latency");
+    private static final double LATENCY_FACTOR=Double.parseDouble(System.getProperty("querybudget.latency-factor","1"));
+    private static final int RUNS=5;
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    public record Usage(long statements,double medianMs){
+    }
+
+    private QueryBudget(){
+    }
+
+    // Runs the work once to warm up, then RUNS times; every run must issue the same number of statements
+    public static Usage measure(Work work) throws Exception{
+        work.run();
+        long statements=-1;
+        double[] millis=new double[RUNS];
+        for(int i=0;i<RUNS;i++){
+            long before=SqlStatementCounter.current();
+            long start=System.nanoTime();
+            work.run();
+            millis[i]=(System.nanoTime()-start)/1e6;
+            long issued=SqlStatementCounter.current()-before;
+            statements=Math.max(statements,issued);
+        }
+        Arrays.sort(millis);
+        return new Usage(statements,millis[RUNS/2]);
+    }
+
+    public static Usage assertWithin(String name,long maxStatements,long maxMillis,Work work) throws Exception{
+        Usage usage=measure(work);
+        long latencyBudget=Math.round(maxMillis*LATENCY_FACTOR);
+        System.out.printf("%-40s %3d statements (budget %d), median %7.2f ms (budget %d)%n",name,usage.statements(),maxStatements,usage.medianMs(),latencyBudget);
+        assertTrue(usage.statements()<=maxStatements,name+" issued "+usage.statements()+" SQL statements, budget is "+maxStatements);
+        if(CHECK_LATENCY){
+            assertTrue(usage.medianMs()<=latencyBudget,name+" took "+usage.medianMs()+" ms (median), budget is "+latencyBudget+" ms");
+        }
+        return usage;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticketsystem.ticketsystem.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtFilterTest {
+
+    private final JwtUtils jwtUtils=new JwtUtils();
+    private final JwtFilter filter=new JwtFilter(jwtUtils);
+    private String loginToken;
+    private String streamToken;
+
+    @BeforeEach
+    void setUp(){
+        ReflectionTestUtils.setField(jwtUtils,"secret","filter-test-secret-filter-test-secret-0123456789");
+        ReflectionTestUtils.setField(jwtUtils,"streamTokenTtlMs",60000L);
+        loginToken=jwtUtils.generateToken("7","MANAGER",3L,"BASE");
+        streamToken=jwtUtils.generateStreamToken("7","MANAGER",3L);
+    }
+
+    @AfterEach
+    void tearDown(){
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void streamAcceptsOnlyStreamTokensFromTheQuery() throws Exception{
+        assertEquals(200,run(query("/ticket/stream",streamToken)));
+        assertEquals(401,run(query("/ticket/stream",loginToken)));
+    }
+
+    @Test
+    void streamTokenDoesNotAuthenticateOtherRequests() throws Exception{
+        assertEquals(401,run(bearer("/ticket/getalltickets",streamToken)));
+        assertEquals(200,run(bearer("/ticket/getalltickets",loginToken)));
+    }
+
+    private int run(MockHttpServletRequest request) throws Exception{
+        MockHttpServletResponse response=new MockHttpServletResponse();
+        filter.doFilter(request,response,new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest query(String uri,String token){
+        MockHttpServletRequest request=new MockHttpServletRequest("GET",uri);
+        request.setParameter("stream_token",token);
+        return request;
+    }
+
+    private static MockHttpServletRequest bearer(String uri,String token){
+        MockHttpServletRequest request=new MockHttpServletRequest("GET",uri);
+        request.addHeader("Authorization","Bearer "+token);
+        return request;
+    }
+}